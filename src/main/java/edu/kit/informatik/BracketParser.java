@@ -0,0 +1,173 @@
+package edu.kit.informatik;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+final class BracketParser {
+
+    private static final int START = 0;
+    private static final int EXPECT_ROOT = 1;
+    private static final int IN_ROOT = 2;
+    private static final int EXPECT_CHILD = 3;
+    private static final int IN_CHILD = 4;
+    private static final int AFTER_GROUP = 5;
+    private static final int DONE = 6;
+
+    private final NodeDictionary nodes = new NodeDictionary();
+    // parent id per node id, -1 for the root of the whole notation
+    private int[] parents = new int[16];
+    // root ids of the groups opened but not closed yet
+    private int[] groups = new int[16];
+    private int depth;
+
+    // files usually end with a line break, so streamed input may carry some after the last ')'
+    private final boolean trailingLineBreaks;
+
+    private int state = START;
+    private long ipState;
+    private long position;
+
+    BracketParser() {
+        this(false);
+    }
+
+    BracketParser(final boolean trailingLineBreaks) {
+        this.trailingLineBreaks = trailingLineBreaks;
+    }
+
+    void feed(final CharSequence text, final int from, final int to) throws ParseException {
+        for (int i = from; i < to; i++) {
+            feed(text.charAt(i));
+        }
+    }
+
+    void feed(final char[] text, final int from, final int to) throws ParseException {
+        for (int i = from; i < to; i++) {
+            feed(text[i]);
+        }
+    }
+
+    // consumes the remaining bytes, the notation is plain ASCII so every byte is one character
+    void feed(final ByteBuffer bytes) throws ParseException {
+        while (bytes.hasRemaining()) {
+            feed(bytes.get() & 0xFF);
+        }
+    }
+
+    void feed(final int c) throws ParseException {
+        switch (state) {
+            case START:
+                expect(c == '(');
+                openGroup();
+                break;
+            case EXPECT_ROOT:
+            case EXPECT_CHILD:
+                if (c == '(' && state == EXPECT_CHILD) {
+                    openGroup();
+                } else {
+                    expect(c >= '0' && c <= '9');
+                    ipState = IP.step(0, c);
+                    state = state == EXPECT_ROOT ? IN_ROOT : IN_CHILD;
+                }
+                break;
+            case IN_ROOT:
+                if (isSeparator(c)) {
+                    endIp();
+                    state = EXPECT_CHILD;
+                } else {
+                    ipState = IP.step(ipState, c);
+                    expect(ipState != IP.INVALID);
+                }
+                break;
+            case IN_CHILD:
+                if (isSeparator(c)) {
+                    endIp();
+                    state = EXPECT_CHILD;
+                } else if (c == ')') {
+                    endIp();
+                    closeGroup();
+                } else {
+                    ipState = IP.step(ipState, c);
+                    expect(ipState != IP.INVALID);
+                }
+                break;
+            case AFTER_GROUP:
+                if (isSeparator(c)) {
+                    state = EXPECT_CHILD;
+                } else {
+                    expect(c == ')');
+                    closeGroup();
+                }
+                break;
+            default:
+                expect(trailingLineBreaks && (c == '\n' || c == '\r'));
+        }
+        position++;
+    }
+
+    void finish() throws ParseException {
+        if (state != DONE) {
+            throw new ParseException("Incomplete network bracket notation, " + depth + " group(s) not closed");
+        }
+    }
+
+    // starts another top-level group, its nodes join the ones parsed so far
+    void nextGroup() throws ParseException {
+        finish();
+        state = START;
+    }
+
+    NodeDictionary nodes() {
+        return nodes;
+    }
+
+    // parent id per node id, -1 for the root
+    int[] parents() {
+        return parents;
+    }
+
+    private void openGroup() {
+        if (depth == groups.length) {
+            groups = Arrays.copyOf(groups, depth * 2);
+        }
+        groups[depth++] = -1;
+        state = EXPECT_ROOT;
+    }
+
+    private void closeGroup() {
+        depth--;
+        state = depth == 0 ? DONE : AFTER_GROUP;
+    }
+
+    private void endIp() throws ParseException {
+        final long address = IP.finish(ipState);
+        expect(address != IP.INVALID);
+
+        final int id = nodes.add((int) address);
+        if (id < 0) {
+            throw new ParseException("A network notation with cycle provided, " + IP.ofInt((int) address)
+                    + " occurs twice at index " + position);
+        }
+        if (id == parents.length) {
+            parents = Arrays.copyOf(parents, id * 2);
+        }
+
+        if (state == IN_ROOT) {
+            parents[id] = depth > 1 ? groups[depth - 2] : -1;
+            groups[depth - 1] = id;
+        } else {
+            parents[id] = groups[depth - 1];
+        }
+    }
+
+    private void expect(final boolean valid) throws ParseException {
+        if (!valid) {
+            throw new ParseException("Invalid network bracket notation at index " + position);
+        }
+    }
+
+    // the single whitespace characters the bracket notation allows between nodes
+    static boolean isSeparator(final int c) {
+        return c == ' ' || c == '\t' || c == '\u000B' || c == '\f';
+    }
+}
@@ -0,0 +1,111 @@
+package edu.kit.informatik;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+
+// writes the bracket notation of a tree in one pass over the adjacency, without recursion or intermediate strings
+final class BracketWriter {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private interface Output {
+        void put(char c) throws IOException;
+
+        default void flush() throws IOException {
+        }
+    }
+
+    private final Graph graph;
+    private final byte[] digits = new byte[IP.MAX_LENGTH];
+
+    BracketWriter(final Graph graph) {
+        this.graph = graph;
+    }
+
+    void write(final int root, final Appendable out) throws IOException {
+        final char[] buffer = new char[BUFFER_SIZE];
+        final CharBuffer chars = CharBuffer.wrap(buffer);
+        write(root, new Output() {
+            private int size;
+
+            @Override
+            public void put(final char c) throws IOException {
+                if (size == buffer.length) {
+                    flush();
+                }
+                buffer[size++] = c;
+            }
+
+            @Override
+            public void flush() throws IOException {
+                out.append(chars, 0, size);
+                size = 0;
+            }
+        });
+    }
+
+    // the notation is plain ASCII, one byte per character; throws BufferOverflowException if it does not fit
+    void write(final int root, final ByteBuffer out) {
+        try {
+            write(root, c -> out.put((byte) c));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void write(final int root, final Output out) throws IOException {
+        // the path from the root to the group being written, with the next neighbor index per group
+        int[] groups = new int[16];
+        int[] next = new int[16];
+        int depth = 0;
+        // a tree has fewer nodes than the id limit, more means a concurrent change was read half done
+        int written = 1;
+        final int limit = graph.limit();
+
+        out.put('(');
+        putIp(graph.addressOf(root), out);
+        groups[depth++] = root;
+        while (depth > 0) {
+            final int group = groups[depth - 1];
+            final int index = next[depth - 1];
+            if (index == graph.degree(group)) {
+                out.put(')');
+                depth--;
+                continue;
+            }
+            next[depth - 1]++;
+
+            final int child = graph.neighbor(group, index);
+            if (depth > 1 && child == groups[depth - 2]) {
+                continue;
+            }
+            if (++written > limit) {
+                throw new ConcurrentModificationException();
+            }
+            out.put(' ');
+            if (graph.degree(child) > 1) {
+                out.put('(');
+                putIp(graph.addressOf(child), out);
+                if (depth == groups.length) {
+                    groups = Arrays.copyOf(groups, depth * 2);
+                    next = Arrays.copyOf(next, depth * 2);
+                }
+                groups[depth] = child;
+                next[depth++] = 0;
+            } else {
+                putIp(graph.addressOf(child), out);
+            }
+        }
+        out.flush();
+    }
+
+    private void putIp(final int address, final Output out) throws IOException {
+        final int length = IP.toAscii(address, digits, 0);
+        for (int i = 0; i < length; i++) {
+            out.put((char) digits[i]);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package edu.kit.informatik;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+// parses one network per line, consecutive lines go to the executor in batches to keep the task overhead low
+final class BulkLoader {
+
+    private static final int BATCH_LINES = 256;
+    private static final int BATCH_CHARS = 1 << 16;
+
+    private BulkLoader() {
+    }
+
+    static List<Network.ParseResult> parseAll(final Stream<String> lines, final ExecutorService executor) {
+        final List<Future<Network.ParseResult[]>> batches = new ArrayList<>();
+        final Iterator<String> iterator = lines.iterator();
+        int lineCount = 0;
+        while (iterator.hasNext()) {
+            final List<String> batch = new ArrayList<>(BATCH_LINES);
+            int chars = 0;
+            while (iterator.hasNext() && batch.size() < BATCH_LINES && chars < BATCH_CHARS) {
+                final String line = iterator.next();
+                batch.add(line);
+                chars += line.length();
+            }
+            final int firstLine = lineCount;
+            batches.add(executor.submit(() -> parseBatch(batch, firstLine)));
+            lineCount += batch.size();
+        }
+
+        final List<Network.ParseResult> results = new ArrayList<>(lineCount);
+        try {
+            for (final Future<Network.ParseResult[]> batch : batches) {
+                results.addAll(List.of(batch.get()));
+            }
+        } catch (InterruptedException e) {
+            batches.forEach(batch -> batch.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while parsing", e);
+        } catch (ExecutionException e) {
+            batches.forEach(batch -> batch.cancel(true));
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw (Error) e.getCause();
+        }
+        return results;
+    }
+
+    private static Network.ParseResult[] parseBatch(final List<String> lines, final int firstLine) {
+        final Network.ParseResult[] results = new Network.ParseResult[lines.size()];
+        for (int i = 0; i < results.length; i++) {
+            Network network = null;
+            ParseException error = null;
+            try {
+                network = new Network(lines.get(i));
+            } catch (ParseException e) {
+                error = e;
+            }
+            results[i] = new Network.ParseResult(firstLine + i, network, error);
+        }
+        return results;
+    }
+}
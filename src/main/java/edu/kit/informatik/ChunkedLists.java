@@ -0,0 +1,82 @@
+package edu.kit.informatik;
+
+import java.util.Arrays;
+
+// the int[] per index counterpart of ChunkedInts, the arrays themselves are never copied here
+final class ChunkedLists {
+
+    private static final int SHIFT = 8;
+    private static final int SIZE = 1 << SHIFT;
+    private static final int MASK = SIZE - 1;
+
+    private int[][][] chunks = new int[0][][];
+    // the epoch each chunk was created or copied in, a chunk of an older epoch may be shared
+    private int[] chunkEpochs = new int[0];
+    private int indexEpoch;
+    private int epoch;
+    private final int[] empty;
+
+    // new entries are the given empty array
+    ChunkedLists(final int length, final int[] empty) {
+        this.empty = empty;
+        grow(length);
+    }
+
+    private ChunkedLists(final ChunkedLists shared) {
+        chunks = shared.chunks;
+        chunkEpochs = shared.chunkEpochs;
+        indexEpoch = shared.indexEpoch;
+        epoch = shared.epoch;
+        empty = shared.empty;
+    }
+
+    // a copy of the current content, later writes to either one do not show in the other
+    ChunkedLists share() {
+        final ChunkedLists copy = new ChunkedLists(this);
+        // both leave the epoch of the shared chunks, so either one copies a chunk before writing to it
+        copy.epoch = ++epoch;
+        return copy;
+    }
+
+    // a multiple of the chunk size
+    int length() {
+        return chunks.length << SHIFT;
+    }
+
+    int[] get(final int index) {
+        return chunks[index >>> SHIFT][index & MASK];
+    }
+
+    void set(final int index, final int[] value) {
+        writableChunk(index >>> SHIFT)[index & MASK] = value;
+    }
+
+    void grow(final int minLength) {
+        final int count = (minLength + MASK) >>> SHIFT;
+        if (count <= chunks.length) {
+            return;
+        }
+        final int oldCount = chunks.length;
+        chunks = Arrays.copyOf(chunks, count);
+        chunkEpochs = Arrays.copyOf(chunkEpochs, count);
+        indexEpoch = epoch;
+        for (int chunk = oldCount; chunk < count; chunk++) {
+            chunks[chunk] = new int[SIZE][];
+            Arrays.fill(chunks[chunk], empty);
+            chunkEpochs[chunk] = epoch;
+        }
+    }
+
+    private int[][] writableChunk(final int chunk) {
+        if (chunkEpochs[chunk] != epoch) {
+            if (indexEpoch != epoch) {
+                chunks = chunks.clone();
+                chunkEpochs = chunkEpochs.clone();
+                indexEpoch = epoch;
+            }
+            chunks[chunk] = chunks[chunk].clone();
+            chunkEpochs[chunk] = epoch;
+        }
+        return chunks[chunk];
+    }
+}
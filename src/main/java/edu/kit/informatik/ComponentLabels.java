@@ -0,0 +1,167 @@
+package edu.kit.informatik;
+
+import java.util.Arrays;
+
+// a component label per node id that, unlike DisjointSets, survives edge removals: every join or split
+// relabels only the smaller of the two trees involved
+final class ComponentLabels {
+
+    private int[] labels;
+    // node count per label
+    private int[] sizes;
+    private int labelCount;
+
+    // nodes of one side of a change, gathered by search
+    private int[] queue = new int[16];
+    private int[] queueParents = new int[16];
+    private int[] otherQueue = new int[16];
+    private int[] otherParents = new int[16];
+
+    ComponentLabels(final Graph graph) {
+        final int limit = graph.limit();
+        labels = new int[Math.max(limit, 16)];
+        Arrays.fill(labels, -1);
+        sizes = new int[16];
+        for (int id = 0; id < limit; id++) {
+            if (labels[id] >= 0) {
+                continue;
+            }
+            final int label = newLabel();
+            labels[id] = label;
+            queue[0] = id;
+            int size = 1;
+            for (int head = 0; head < size; head++) {
+                final int current = queue[head];
+                for (int i = 0; i < graph.degree(current); i++) {
+                    final int next = graph.neighbor(current, i);
+                    if (labels[next] < 0) {
+                        labels[next] = label;
+                        queue = grow(queue, size);
+                        queue[size++] = next;
+                    }
+                }
+            }
+            sizes[label] = size;
+        }
+    }
+
+    int labelOf(final int id) {
+        return labels[id];
+    }
+
+    // every label is below this bound
+    int bound() {
+        return labelCount;
+    }
+
+    // a node new to the graph, alone in its component
+    void added(final int id) {
+        if (id >= labels.length) {
+            labels = Arrays.copyOf(labels, Math.max(id + 1, labels.length * 2));
+        }
+        final int label = newLabel();
+        labels[id] = label;
+        sizes[label] = 1;
+    }
+
+    // called before the edge is inserted, from and to must be in different components
+    void join(final Graph graph, final int from, final int to) {
+        final boolean fromSmaller = sizes[labels[from]] <= sizes[labels[to]];
+        final int start = fromSmaller ? from : to;
+        final int label = labels[fromSmaller ? to : from];
+        final int size = collect(graph, start);
+        sizes[label] += size;
+        sizes[labels[start]] = 0;
+        for (int i = 0; i < size; i++) {
+            labels[queue[i]] = label;
+        }
+    }
+
+    // called after the edge between from and to is removed, both sides are searched in turn until the
+    // smaller one is exhausted
+    void split(final Graph graph, final int from, final int to) {
+        int[] first = queue;
+        int[] firstParents = queueParents;
+        int[] second = otherQueue;
+        int[] secondParents = otherParents;
+        first[0] = from;
+        firstParents[0] = -1;
+        second[0] = to;
+        secondParents[0] = -1;
+        int firstSize = 1;
+        int secondSize = 1;
+        int firstHead = 0;
+        int secondHead = 0;
+        while (firstHead < firstSize && secondHead < secondSize) {
+            final int node = first[firstHead];
+            final int parent = firstParents[firstHead++];
+            for (int i = 0; i < graph.degree(node); i++) {
+                final int next = graph.neighbor(node, i);
+                if (next != parent) {
+                    first = grow(first, firstSize);
+                    firstParents = grow(firstParents, firstSize);
+                    first[firstSize] = next;
+                    firstParents[firstSize++] = node;
+                }
+            }
+
+            final int otherNode = second[secondHead];
+            final int otherParent = secondParents[secondHead++];
+            for (int i = 0; i < graph.degree(otherNode); i++) {
+                final int next = graph.neighbor(otherNode, i);
+                if (next != otherParent) {
+                    second = grow(second, secondSize);
+                    secondParents = grow(secondParents, secondSize);
+                    second[secondSize] = next;
+                    secondParents[secondSize++] = otherNode;
+                }
+            }
+        }
+        queue = first;
+        queueParents = firstParents;
+        otherQueue = second;
+        otherParents = secondParents;
+
+        final boolean firstDone = firstHead == firstSize;
+        final int[] smaller = firstDone ? first : second;
+        final int size = firstDone ? firstSize : secondSize;
+        sizes[labels[from]] -= size;
+        final int label = newLabel();
+        sizes[label] = size;
+        for (int i = 0; i < size; i++) {
+            labels[smaller[i]] = label;
+        }
+    }
+
+    // the tree of start into queue, returns its size
+    private int collect(final Graph graph, final int start) {
+        queue[0] = start;
+        queueParents[0] = -1;
+        int size = 1;
+        for (int head = 0; head < size; head++) {
+            final int node = queue[head];
+            final int parent = queueParents[head];
+            for (int i = 0; i < graph.degree(node); i++) {
+                final int next = graph.neighbor(node, i);
+                if (next != parent) {
+                    queue = grow(queue, size);
+                    queueParents = grow(queueParents, size);
+                    queue[size] = next;
+                    queueParents[size++] = node;
+                }
+            }
+        }
+        return size;
+    }
+
+    private int newLabel() {
+        if (labelCount == sizes.length) {
+            sizes = Arrays.copyOf(sizes, labelCount * 2);
+        }
+        return labelCount++;
+    }
+
+    private static int[] grow(final int[] array, final int size) {
+        return size == array.length ? Arrays.copyOf(array, size * 2) : array;
+    }
+}
@@ -0,0 +1,127 @@
+package edu.kit.informatik;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+// a network shared between threads: writes are exclusive, the common reads first run optimistically without a lock
+public class ConcurrentNetwork {
+
+    private final Network network;
+    private final StampedLock lock = new StampedLock();
+
+    public ConcurrentNetwork(final IP root, final List<IP> children) {
+        this(new Network(root, children));
+    }
+
+    public ConcurrentNetwork(final String bracketNotation) throws ParseException {
+        this(new Network(bracketNotation));
+    }
+
+    // takes the network over, it must not be used directly afterwards
+    public ConcurrentNetwork(final Network network) {
+        this.network = Objects.requireNonNull(network);
+    }
+
+    public boolean add(final Network subnet) {
+        return write(() -> network.add(subnet));
+    }
+
+    public boolean connect(final IP start, final IP end) {
+        return write(() -> network.connect(start, end));
+    }
+
+    public boolean disconnect(final IP start, final IP end) {
+        return write(() -> network.disconnect(start, end));
+    }
+
+    public List<Boolean> batch(final Consumer<Network.Transaction> operations) {
+        return write(() -> network.batch(operations));
+    }
+
+    // taking a snapshot moves the network on to copy what it writes next, so it is a write here
+    public NetworkSnapshot snapshot() {
+        return write(network::snapshot);
+    }
+
+    public boolean contains(final IP ip) {
+        return read(() -> network.contains(ip), () -> network.contains(ip));
+    }
+
+    public List<IP> getRoute(final IP start, final IP end) {
+        return read(() -> network.indexedRoute(start, end), () -> network.getRoute(start, end));
+    }
+
+    // the read lock is held until all routes are found
+    public List<List<IP>> getRoutes(final List<? extends Map.Entry<IP, IP>> pairs) {
+        return locked(() -> network.getRoutes(pairs));
+    }
+
+    public List<List<IP>> getRoutes(final List<? extends Map.Entry<IP, IP>> pairs, final ForkJoinPool pool) {
+        return locked(() -> network.getRoutes(pairs, pool));
+    }
+
+    public List<List<IP>> getLevels(final IP root) {
+        return read(() -> network.getLevels(root), () -> network.getLevels(root));
+    }
+
+    public List<List<IP>> getLevels(final IP root, final int maxDepth) {
+        return read(() -> network.getLevels(root, maxDepth), () -> network.getLevels(root, maxDepth));
+    }
+
+    public String toString(final IP root) {
+        return read(() -> network.toString(root), () -> network.toString(root));
+    }
+
+    // these fill caches of the network, which only happens under the read lock
+    public List<IP> list() {
+        return locked(network::list);
+    }
+
+    public int getHeight(final IP root) {
+        return locked(() -> network.getHeight(root));
+    }
+
+    public Map<IP, Integer> getHeightsForAllRoots() {
+        return locked(network::getHeightsForAllRoots);
+    }
+
+    private <T> T write(final Supplier<T> operation) {
+        final long stamp = lock.writeLock();
+        try {
+            return operation.get();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    // optimistic may run concurrently with a write and see it half done, its result only counts if no write
+    // happened meanwhile; it returns null when it cannot answer without changing the network
+    private <T> T read(final Supplier<T> optimistic, final Supplier<T> pessimistic) {
+        final long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            try {
+                final T result = optimistic.get();
+                if (result != null && lock.validate(stamp)) {
+                    return result;
+                }
+            } catch (RuntimeException e) {
+                // inconsistent state read while a write was running, answered under the lock below
+            }
+        }
+        return locked(pessimistic);
+    }
+
+    private <T> T locked(final Supplier<T> query) {
+        final long stamp = lock.readLock();
+        try {
+            return query.get();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package edu.kit.informatik;
+
+import java.util.Arrays;
+
+final class DisjointSets {
+
+    // parent per element, a root holds -(size of its set)
+    private int[] parents;
+
+    DisjointSets(final int capacity) {
+        parents = new int[Math.max(capacity, 16)];
+        Arrays.fill(parents, -1);
+    }
+
+    void ensureCapacity(final int capacity) {
+        if (capacity > parents.length) {
+            final int oldLength = parents.length;
+            parents = Arrays.copyOf(parents, Math.max(capacity, oldLength * 2));
+            Arrays.fill(parents, oldLength, parents.length, -1);
+        }
+    }
+
+    int find(int element) {
+        while (parents[element] >= 0) {
+            // path halving: point every other node on the way up to its grandparent
+            if (parents[parents[element]] >= 0) {
+                parents[element] = parents[parents[element]];
+            }
+            element = parents[element];
+        }
+        return element;
+    }
+
+    boolean connected(final int first, final int second) {
+        return find(first) == find(second);
+    }
+
+    // returns false if both already were in the same set
+    boolean union(final int first, final int second) {
+        int a = find(first);
+        int b = find(second);
+        if (a == b) {
+            return false;
+        }
+        if (parents[a] > parents[b]) {
+            final int swap = a;
+            a = b;
+            b = swap;
+        }
+        parents[a] += parents[b];
+        parents[b] = a;
+        return true;
+    }
+}
@@ -0,0 +1,147 @@
+package edu.kit.informatik;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+// one "parent,child" line per edge, ASCII; reading accepts a "parent,child" header, blank lines and CRLF
+final class EdgeListFormat {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final byte[] HEADER = {'p', 'a', 'r', 'e', 'n', 't', ',', 'c', 'h', 'i', 'l', 'd'};
+
+    private final NetworkBuilder builder = Network.builder();
+    // the line of every edge read so far
+    private long[] edgeLines = new long[16];
+    private int edgeCount;
+
+    private EdgeListFormat() {
+    }
+
+    static Network read(final Path file) throws IOException, ParseException {
+        return new EdgeListFormat().readFile(file);
+    }
+
+    private Network readFile(final Path file) throws IOException, ParseException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            long line = 1;
+            boolean end = false;
+            while (!end) {
+                end = channel.read(buffer) < 0;
+                buffer.flip();
+                // the lines complete in the buffer, the last one only at the end of the file
+                int lineStart = 0;
+                for (int i = 0; i < buffer.limit(); i++) {
+                    if (buffer.get(i) == '\n') {
+                        readLine(buffer, lineStart, i, line++);
+                        lineStart = i + 1;
+                    }
+                }
+                if (end) {
+                    readLine(buffer, lineStart, buffer.limit(), line);
+                } else if (lineStart == 0 && buffer.limit() == buffer.capacity()) {
+                    throw new ParseException("Invalid edge list, line " + line + " is too long");
+                }
+                buffer.position(lineStart);
+                buffer.compact();
+            }
+        }
+        if (edgeCount == 0) {
+            throw new ParseException("Invalid edge list, a network needs at least one edge");
+        }
+        return builder.build(edge -> new ParseException("Invalid edge list at line " + edgeLines[edge] + ", "
+                + builder.describe(edge)));
+    }
+
+    private void readLine(final ByteBuffer buffer, final int from, int to, final long line) throws ParseException {
+        if (to > from && buffer.get(to - 1) == '\r') {
+            to--;
+        }
+        if (to == from || (line == 1 && isHeader(buffer, from, to))) {
+            return;
+        }
+        int comma = from;
+        while (comma < to && buffer.get(comma) != ',') {
+            comma++;
+        }
+        if (comma == to) {
+            throw new ParseException("Invalid edge list at line " + line + ", no ',' between the nodes");
+        }
+        try {
+            builder.edge(IP.parseAddress(buffer, from, comma), IP.parseAddress(buffer, comma + 1, to));
+        } catch (ParseException e) {
+            throw new ParseException("Invalid edge list at line " + line + ", " + e.getMessage());
+        }
+        if (edgeCount == edgeLines.length) {
+            edgeLines = Arrays.copyOf(edgeLines, edgeCount * 2);
+        }
+        edgeLines[edgeCount++] = line;
+    }
+
+    private static boolean isHeader(final ByteBuffer buffer, final int from, final int to) {
+        if (to - from != HEADER.length) {
+            return false;
+        }
+        for (int i = 0; i < HEADER.length; i++) {
+            if (buffer.get(from + i) != HEADER[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // every component rooted at its lowest address, parents before their children
+    static void write(final Graph graph, final Path file) throws IOException {
+        final int[] addresses = graph.sortedAddresses();
+        final boolean[] visited = new boolean[graph.limit()];
+        int[] queue = new int[16];
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            final byte[] line = new byte[2 * IP.MAX_LENGTH + 2];
+            for (final int address : addresses) {
+                final int root = graph.idOf(address);
+                if (visited[root]) {
+                    continue;
+                }
+                visited[root] = true;
+                queue[0] = root;
+                int size = 1;
+                for (int head = 0; head < size; head++) {
+                    final int parent = queue[head];
+                    for (int k = 0; k < graph.degree(parent); k++) {
+                        final int child = graph.neighbor(parent, k);
+                        if (visited[child]) {
+                            continue;
+                        }
+                        visited[child] = true;
+                        if (size == queue.length) {
+                            queue = Arrays.copyOf(queue, size * 2);
+                        }
+                        queue[size++] = child;
+                        int length = IP.toAscii(graph.addressOf(parent), line, 0);
+                        line[length++] = ',';
+                        length = IP.toAscii(graph.addressOf(child), line, length);
+                        line[length++] = '\n';
+                        if (buffer.remaining() < length) {
+                            writeFully(channel, buffer.flip());
+                            buffer.clear();
+                        }
+                        buffer.put(line, 0, length);
+                    }
+                }
+            }
+            writeFully(channel, buffer.flip());
+        }
+    }
+
+    private static void writeFully(final FileChannel channel, final ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
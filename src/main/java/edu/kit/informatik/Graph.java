@@ -0,0 +1,432 @@
+package edu.kit.informatik;
+
+import java.util.Arrays;
+
+final class Graph {
+
+    private static final int[] NO_NEIGHBORS = new int[0];
+    private static final int ADDED = 0;
+    private static final int REMOVED = 1;
+
+    private final NodeDictionary nodes;
+    // neighbor ids per node id, the first degrees[id] entries are in use and kept in IP order
+    private final ChunkedLists neighbors;
+    private final ChunkedInts degrees;
+    // the epoch each neighbor list was allocated in, one of an older epoch may be read by a snapshot
+    private final ChunkedInts listEpochs;
+    private int epoch;
+    private int edgeCount;
+
+    // all addresses in IP order, replaced rather than modified so callers may keep it
+    private int[] sorted = NO_NEIGHBORS;
+    // nodes added since sorted was built, merged in on the next sortedAddresses() call
+    private int[] added = NO_NEIGHBORS;
+    private int addedCount;
+    private boolean removedSinceSort;
+
+    // connected components over node ids, null after an edge removal until the next query rebuilds it
+    private DisjointSets components;
+    // exact components from the first edge removal of an open journal on, so a batch mixing removals and
+    // additions does not rebuild components per operation
+    private ComponentLabels labels;
+
+    // while open, every edge change as three entries: ADDED or REMOVED and both addresses
+    private int[] journal;
+    private int journalSize;
+
+    Graph() {
+        this(new NodeDictionary());
+    }
+
+    private Graph(final NodeDictionary nodes) {
+        this.nodes = nodes;
+        this.neighbors = new ChunkedLists(Math.max(nodes.limit(), 16), NO_NEIGHBORS);
+        this.degrees = new ChunkedInts(neighbors.length());
+        this.listEpochs = new ChunkedInts(neighbors.length());
+    }
+
+    private Graph(final Graph shared) {
+        nodes = shared.nodes.share();
+        neighbors = shared.neighbors.share();
+        degrees = shared.degrees.share();
+        listEpochs = shared.listEpochs.share();
+        epoch = ++shared.epoch;
+        edgeCount = shared.edgeCount;
+        sorted = shared.sorted;
+        added = shared.added;
+        addedCount = shared.addedCount;
+        removedSinceSort = shared.removedSinceSort;
+    }
+
+    // a copy in O(1) that shares all storage, each later change to either one copies only what it touches
+    Graph snapshot() {
+        return new Graph(this);
+    }
+
+    // adopts the node dictionary of a parsed tree, parents holds the parent id per node id or -1
+    static Graph ofParents(final NodeDictionary nodes, final int[] parents) {
+        final int limit = nodes.limit();
+        final int[] from = new int[limit];
+        final int[] to = new int[limit];
+        int count = 0;
+        for (int id = 0; id < limit; id++) {
+            if (parents[id] >= 0) {
+                from[count] = id;
+                to[count++] = parents[id];
+            }
+        }
+        return ofEdges(nodes, from, to, count);
+    }
+
+    // adopts the node dictionary, the first count entries of from and to are the edges between node ids
+    static Graph ofEdges(final NodeDictionary nodes, final int[] from, final int[] to, final int count) {
+        return ofEdges(nodes, from, to, count, true);
+    }
+
+    // ids are the indices into the addresses in IP order; edges with from < to, ordered by from and then to,
+    // fill every neighbor list in IP order already
+    static Graph ofSortedEdges(final int[] addresses, final int[] from, final int[] to, final int count) {
+        final NodeDictionary nodes = new NodeDictionary(addresses.length);
+        for (final int address : addresses) {
+            nodes.add(address);
+        }
+        final Graph graph = ofEdges(nodes, from, to, count, false);
+        graph.sorted = addresses;
+        graph.added = NO_NEIGHBORS;
+        graph.addedCount = 0;
+        return graph;
+    }
+
+    private static Graph ofEdges(final NodeDictionary nodes, final int[] from, final int[] to, final int count,
+                                 final boolean sortLists) {
+        final Graph graph = new Graph(nodes);
+        final int limit = nodes.limit();
+        graph.added = new int[limit];
+        for (int id = 0; id < limit; id++) {
+            graph.added[id] = nodes.addressOf(id);
+        }
+        graph.addedCount = limit;
+        final int[] degrees = new int[limit];
+        for (int i = 0; i < count; i++) {
+            degrees[from[i]]++;
+            degrees[to[i]]++;
+        }
+        final int[][] lists = new int[limit][];
+        for (int id = 0; id < limit; id++) {
+            lists[id] = degrees[id] == 0 ? NO_NEIGHBORS : new int[degrees[id]];
+            degrees[id] = 0;
+        }
+        for (int i = 0; i < count; i++) {
+            lists[from[i]][degrees[from[i]]++] = to[i];
+            lists[to[i]][degrees[to[i]]++] = from[i];
+        }
+        graph.edgeCount = count;
+        for (int id = 0; id < limit; id++) {
+            if (sortLists) {
+                graph.sortByAddress(lists[id], degrees[id]);
+            }
+            graph.neighbors.set(id, lists[id]);
+            graph.degrees.set(id, degrees[id]);
+        }
+        return graph;
+    }
+
+    int size() {
+        return nodes.size();
+    }
+
+    // every node id is below the limit, arrays indexed by node id need this length
+    int limit() {
+        return nodes.limit();
+    }
+
+    int edgeCount() {
+        return edgeCount;
+    }
+
+    int idOf(final int address) {
+        return nodes.idOf(address);
+    }
+
+    int idOf(final IP ip) {
+        return nodes.idOf(ip.toInt());
+    }
+
+    int addressOf(final int id) {
+        return nodes.addressOf(id);
+    }
+
+    IP ipOf(final int id) {
+        return IP.ofInt(nodes.addressOf(id));
+    }
+
+    int degree(final int id) {
+        return degrees.get(id);
+    }
+
+    int neighbor(final int id, final int index) {
+        return neighbors.get(id)[index];
+    }
+
+    boolean hasEdge(final int from, final int to) {
+        return indexOf(from, to) >= 0;
+    }
+
+    // returns the id of the node, adding it without edges if the address is unknown
+    int addNode(final int address) {
+        final int known = nodes.idOf(address);
+        if (known >= 0) {
+            return known;
+        }
+        final int id = nodes.add(address);
+        if (labels != null) {
+            labels.added(id);
+        }
+        if (addedCount == added.length) {
+            added = Arrays.copyOf(added, Math.max(16, addedCount * 2));
+        }
+        added[addedCount++] = address;
+        if (id >= neighbors.length()) {
+            final int length = Math.max(id + 1, neighbors.length() * 2);
+            neighbors.grow(length);
+            degrees.grow(length);
+            listEpochs.grow(length);
+        }
+        return id;
+    }
+
+    // removes a node without edges
+    void removeNode(final int id) {
+        nodes.remove(nodes.addressOf(id));
+        neighbors.set(id, NO_NEIGHBORS);
+        degrees.set(id, 0);
+        removedSinceSort = true;
+    }
+
+    // synchronized as concurrent readers may all find the index outdated
+    synchronized int[] sortedAddresses() {
+        if (addedCount == 0 && !removedSinceSort) {
+            return sorted;
+        }
+        final int[] fresh = Arrays.copyOf(added, addedCount);
+        sortUnsigned(fresh);
+
+        // merge both sorted runs, skipping removed nodes and nodes that were removed and added again
+        final int[] merged = new int[nodes.size()];
+        int size = 0;
+        int i = 0;
+        int j = 0;
+        while (i < sorted.length || j < fresh.length) {
+            final int address;
+            if (j == fresh.length || (i < sorted.length && Integer.compareUnsigned(sorted[i], fresh[j]) <= 0)) {
+                address = sorted[i++];
+            } else {
+                address = fresh[j++];
+            }
+            if ((size == 0 || merged[size - 1] != address) && (!removedSinceSort || nodes.idOf(address) >= 0)) {
+                merged[size++] = address;
+            }
+        }
+
+        sorted = merged;
+        added = NO_NEIGHBORS;
+        addedCount = 0;
+        removedSinceSort = false;
+        return sorted;
+    }
+
+    boolean connected(final int first, final int second) {
+        if (labels != null) {
+            return labels.labelOf(first) == labels.labelOf(second);
+        }
+        return components().connected(first, second);
+    }
+
+    // the component representative of a node, stable until the next edge change
+    int componentOf(final int id) {
+        return labels != null ? labels.labelOf(id) : components().find(id);
+    }
+
+    // every component representative is below this bound
+    int componentBound() {
+        return labels != null ? labels.bound() : nodes.limit();
+    }
+
+    private DisjointSets components() {
+        if (components == null) {
+            final int limit = nodes.limit();
+            final DisjointSets rebuilt = new DisjointSets(limit);
+            for (int id = 0; id < limit; id++) {
+                final int[] list = neighbors.get(id);
+                for (int i = 0; i < degrees.get(id); i++) {
+                    if (list[i] > id) {
+                        rebuilt.union(id, list[i]);
+                    }
+                }
+            }
+            components = rebuilt;
+        }
+        return components;
+    }
+
+    boolean addEdge(final int from, final int to) {
+        if (hasEdge(from, to)) {
+            return false;
+        }
+        if (labels != null) {
+            labels.join(this, from, to);
+        }
+        insert(from, to);
+        insert(to, from);
+        edgeCount++;
+        record(ADDED, from, to);
+        if (components != null) {
+            components.ensureCapacity(nodes.limit());
+            components.union(from, to);
+        }
+        return true;
+    }
+
+    boolean removeEdge(final int from, final int to) {
+        final int index = indexOf(from, to);
+        if (index < 0) {
+            return false;
+        }
+        delete(from, index);
+        delete(to, indexOf(to, from));
+        edgeCount--;
+        record(REMOVED, from, to);
+        // splitting a set is not supported by union-find, rebuild lazily instead
+        components = null;
+        if (labels != null) {
+            labels.split(this, from, to);
+        } else if (journal != null) {
+            labels = new ComponentLabels(this);
+        }
+        return true;
+    }
+
+    void openJournal() {
+        if (journal != null) {
+            throw new IllegalStateException("journal already open");
+        }
+        journal = new int[48];
+        journalSize = 0;
+    }
+
+    void closeJournal() {
+        journal = null;
+        labels = null;
+    }
+
+    // undoes the recorded changes newest first and closes the journal, node ids may differ afterwards
+    void rollbackJournal() {
+        final int[] entries = journal;
+        journal = null;
+        labels = null;
+        for (int i = journalSize - 3; i >= 0; i -= 3) {
+            if (entries[i] == ADDED) {
+                final int from = nodes.idOf(entries[i + 1]);
+                final int to = nodes.idOf(entries[i + 2]);
+                removeEdge(from, to);
+                // nodes the change brought in, an older entry adds them again if they were there before
+                if (degrees.get(from) == 0) {
+                    removeNode(from);
+                }
+                if (degrees.get(to) == 0) {
+                    removeNode(to);
+                }
+            } else {
+                addEdge(addNode(entries[i + 1]), addNode(entries[i + 2]));
+            }
+        }
+    }
+
+    private void record(final int change, final int from, final int to) {
+        if (journal == null) {
+            return;
+        }
+        if (journalSize + 3 > journal.length) {
+            journal = Arrays.copyOf(journal, journal.length * 2);
+        }
+        journal[journalSize++] = change;
+        journal[journalSize++] = nodes.addressOf(from);
+        journal[journalSize++] = nodes.addressOf(to);
+    }
+
+    private void insert(final int id, final int neighbor) {
+        final int index = -indexOf(id, neighbor) - 1;
+        final int degree = degrees.get(id);
+        int[] list = writableList(id);
+        if (degree == list.length) {
+            list = Arrays.copyOf(list, Math.max(2, list.length * 2));
+            neighbors.set(id, list);
+        }
+        System.arraycopy(list, index, list, index + 1, degree - index);
+        list[index] = neighbor;
+        degrees.set(id, degree + 1);
+    }
+
+    private void delete(final int id, final int index) {
+        final int degree = degrees.get(id);
+        final int[] list = writableList(id);
+        System.arraycopy(list, index + 1, list, index, degree - index - 1);
+        degrees.set(id, degree - 1);
+    }
+
+    // the neighbor list of the node, copied first if a snapshot may share it
+    private int[] writableList(final int id) {
+        int[] list = neighbors.get(id);
+        if (listEpochs.get(id) != epoch && list != NO_NEIGHBORS) {
+            list = list.clone();
+            neighbors.set(id, list);
+        }
+        listEpochs.set(id, epoch);
+        return list;
+    }
+
+    // binary search in the neighbor list by address, same contract as Arrays.binarySearch
+    private int indexOf(final int id, final int neighbor) {
+        final int[] list = neighbors.get(id);
+        final int address = nodes.addressOf(neighbor);
+        int low = 0;
+        int high = degrees.get(id) - 1;
+        while (low <= high) {
+            final int middle = (low + high) >>> 1;
+            final int compare = Integer.compareUnsigned(nodes.addressOf(list[middle]), address);
+            if (compare < 0) {
+                low = middle + 1;
+            } else if (compare > 0) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private static void sortUnsigned(final int[] addresses) {
+        for (int i = 0; i < addresses.length; i++) {
+            addresses[i] ^= Integer.MIN_VALUE;
+        }
+        Arrays.sort(addresses);
+        for (int i = 0; i < addresses.length; i++) {
+            addresses[i] ^= Integer.MIN_VALUE;
+        }
+    }
+
+    private void sortByAddress(final int[] ids, final int length) {
+        if (length < 2) {
+            return;
+        }
+        // the address goes to the upper half with its sign bit flipped, so signed order is IP order
+        final long[] keys = new long[length];
+        for (int i = 0; i < length; i++) {
+            keys[i] = (long) (nodes.addressOf(ids[i]) ^ Integer.MIN_VALUE) << 32 | ids[i];
+        }
+        Arrays.sort(keys);
+        for (int i = 0; i < length; i++) {
+            ids[i] = (int) keys[i];
+        }
+    }
+}
@@ -1,51 +1,160 @@
 package edu.kit.informatik;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
-
-import static java.lang.String.join;
-import static java.util.stream.Collectors.toList;
+import java.util.Objects;
 
 public class IP implements Comparable<IP> {
 
     private final static String PART_REGEXP = "([0-9]|([1-9]\\d)|(1\\d{2})|(2[0-4]\\d)|25[0-5])";
     public final static String REGEXP = PART_REGEXP + "\\." + PART_REGEXP + "\\." + PART_REGEXP + "\\." + PART_REGEXP;
 
-    private List<Integer> parts = new ArrayList<>();
+    // parser state packed into a long: bits 0-31 the parts read so far, 32-40 the current part,
+    // 41-42 the digits of the current part, 43-44 the dots seen; negative once the input is rejected
+    final static long INVALID = -1L;
+    // the longest point notation, 255.255.255.255
+    final static int MAX_LENGTH = 15;
+
+    // the four parts packed big-endian, so the first part is the most significant byte
+    private final int address;
 
     public IP(final String pointNotation) throws ParseException {
         if (pointNotation == null || "".equals(pointNotation.trim())) {
             throw new ParseException("invalid IP, null or empty");
-        } else if (!pointNotation.matches(REGEXP)) {
-            throw new ParseException("invalid IP '" + pointNotation + "'");
         }
+        this.address = parseAddress(pointNotation, 0, pointNotation.length());
+    }
+
+    private IP(final int address) {
+        this.address = address;
+    }
+
+    public static IP ofInt(final int address) {
+        return new IP(address);
+    }
+
+    public int toInt() {
+        return address;
+    }
+
+    public static IP parse(final CharSequence text, final int from, final int to) throws ParseException {
+        return new IP(parseAddress(text, from, to));
+    }
+
+    public static IP parse(final byte[] bytes, final int from, final int to) throws ParseException {
+        return new IP(parseAddress(bytes, from, to));
+    }
+
+    public static IP parse(final ByteBuffer buffer, final int from, final int to) throws ParseException {
+        return new IP(parseAddress(buffer, from, to));
+    }
+
+    static int parseAddress(final CharSequence text, final int from, final int to) throws ParseException {
+        Objects.checkFromToIndex(from, to, text.length());
+        long state = 0;
+        for (int i = from; i < to && state != INVALID; i++) {
+            state = step(state, text.charAt(i));
+        }
+        state = finish(state);
+        if (state == INVALID) {
+            throw new ParseException("invalid IP '" + text.subSequence(from, to) + "'");
+        }
+        return (int) state;
+    }
 
-        for (String item : pointNotation.split("\\.")) {
-            parts.add(Integer.valueOf(item));
+    static int parseAddress(final byte[] bytes, final int from, final int to) throws ParseException {
+        Objects.checkFromToIndex(from, to, bytes.length);
+        long state = 0;
+        for (int i = from; i < to && state != INVALID; i++) {
+            state = step(state, bytes[i] & 0xFF);
+        }
+        state = finish(state);
+        if (state == INVALID) {
+            throw new ParseException("invalid IP '" + new String(bytes, from, to - from, StandardCharsets.ISO_8859_1) + "'");
         }
+        return (int) state;
+    }
+
+    static int parseAddress(final ByteBuffer buffer, final int from, final int to) throws ParseException {
+        Objects.checkFromToIndex(from, to, buffer.limit());
+        long state = 0;
+        for (int i = from; i < to && state != INVALID; i++) {
+            state = step(state, buffer.get(i) & 0xFF);
+        }
+        state = finish(state);
+        if (state == INVALID) {
+            final byte[] text = new byte[to - from];
+            buffer.duplicate().position(from).get(text);
+            throw new ParseException("invalid IP '" + new String(text, StandardCharsets.ISO_8859_1) + "'");
+        }
+        return (int) state;
+    }
+
+    // accepts exactly what REGEXP matches: four dot separated parts 0-255 without leading zeros
+    static long step(final long state, final int c) {
+        final int part = (int) (state >>> 32 & 0x1FF);
+        final int digits = (int) (state >>> 41 & 0x3);
+        if (c >= '0' && c <= '9') {
+            if (digits == 3 || (digits == 1 && part == 0)) {
+                return INVALID;
+            }
+            final int next = part * 10 + (c - '0');
+            if (next > 255) {
+                return INVALID;
+            }
+            return state & ~(0x7FFL << 32) | (long) next << 32 | (long) (digits + 1) << 41;
+        } else if (c == '.') {
+            final int dots = (int) (state >>> 43 & 0x3);
+            if (digits == 0 || dots == 3) {
+                return INVALID;
+            }
+            return ((state << 8 | part) & 0xFFFFFFFFL) | (long) (dots + 1) << 43;
+        }
+        return INVALID;
+    }
+
+    static long finish(final long state) {
+        if (state == INVALID || (state >>> 41 & 0x3) == 0 || (state >>> 43 & 0x3) != 3) {
+            return INVALID;
+        }
+        return (state << 8 | state >>> 32 & 0xFF) & 0xFFFFFFFFL;
+    }
+
+    // the point notation as ASCII bytes from offset on, returns the offset after it
+    static int toAscii(final int address, final byte[] out, int offset) {
+        for (int shift = 24; shift >= 0; shift -= 8) {
+            final int part = address >>> shift & 0xFF;
+            if (part >= 100) {
+                out[offset++] = (byte) ('0' + part / 100);
+            }
+            if (part >= 10) {
+                out[offset++] = (byte) ('0' + part / 10 % 10);
+            }
+            out[offset++] = (byte) ('0' + part % 10);
+            if (shift > 0) {
+                out[offset++] = '.';
+            }
+        }
+        return offset;
     }
 
     @Override
     public String toString() {
-        return parts.stream().map(i -> "" + i).collect(Collectors.joining("."));
+        return (address >>> 24) + "." + (address >>> 16 & 0xFF) + "." + (address >>> 8 & 0xFF) + "." + (address & 0xFF);
     }
 
     public List<Integer> getParts() {
-        return new ArrayList<>(parts);
+        final List<Integer> parts = new ArrayList<>(4);
+        for (int shift = 24; shift >= 0; shift -= 8) {
+            parts.add(address >>> shift & 0xFF);
+        }
+        return parts;
     }
 
     @Override
     public int compareTo(IP o) {
-        List<Integer> current = getParts();
-        List<Integer> other = o.getParts();
-
-        for (int i = 0; i < 4; i++) {
-            int partCompare = Integer.compare(current.get(i), other.get(i));
-            if (partCompare != 0) {
-                return partCompare;
-            }
-        }
-        return 0;
+        return Integer.compareUnsigned(address, o.address);
     }
 
     @Override
@@ -53,12 +162,12 @@ public class IP implements Comparable<IP> {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         IP ip = (IP) o;
-        return toString().equals(o.toString());
+        return address == ip.address;
     }
 
     @Override
     public int hashCode() {
-        return toString().hashCode();
+        return Integer.hashCode(address);
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,57 @@
+package edu.kit.informatik;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+
+// a list of IPs over a shared, never modified array of addresses, copied on the first write
+final class IpList extends AbstractList<IP> implements RandomAccess {
+
+    private final int[] addresses;
+    private List<IP> copy;
+
+    IpList(final int[] addresses) {
+        this.addresses = addresses;
+    }
+
+    @Override
+    public IP get(final int index) {
+        if (copy != null) {
+            return copy.get(index);
+        }
+        return IP.ofInt(addresses[index]);
+    }
+
+    @Override
+    public int size() {
+        return copy != null ? copy.size() : addresses.length;
+    }
+
+    @Override
+    public IP set(final int index, final IP element) {
+        return writable().set(index, element);
+    }
+
+    @Override
+    public void add(final int index, final IP element) {
+        modCount++;
+        writable().add(index, element);
+    }
+
+    @Override
+    public IP remove(final int index) {
+        modCount++;
+        return writable().remove(index);
+    }
+
+    private List<IP> writable() {
+        if (copy == null) {
+            copy = new ArrayList<>(addresses.length);
+            for (int address : addresses) {
+                copy.add(IP.ofInt(address));
+            }
+        }
+        return copy;
+    }
+}
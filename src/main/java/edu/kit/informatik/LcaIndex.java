@@ -0,0 +1,82 @@
+package edu.kit.informatik;
+
+import java.util.Arrays;
+
+// lowest common ancestors over every component rooted at an arbitrary node, built for one network version
+final class LcaIndex {
+
+    final long version;
+    // parent id per node id, a component root is its own parent
+    private final int[] parents;
+    private final int[] depths;
+    // skew-binary jump pointers, any ancestor is reached in O(log n) jumps and parent steps
+    private final int[] jumps;
+
+    LcaIndex(final Graph graph, final long version) {
+        this.version = version;
+        final int limit = graph.limit();
+        parents = new int[limit];
+        depths = new int[limit];
+        jumps = new int[limit];
+        Arrays.fill(parents, -1);
+
+        final int[] queue = new int[limit];
+        for (int root = 0; root < limit; root++) {
+            if (parents[root] >= 0 || graph.degree(root) == 0) {
+                continue;
+            }
+            parents[root] = root;
+            jumps[root] = root;
+            queue[0] = root;
+            int size = 1;
+            for (int head = 0; head < size; head++) {
+                final int current = queue[head];
+                for (int i = 0; i < graph.degree(current); i++) {
+                    final int next = graph.neighbor(current, i);
+                    if (parents[next] < 0) {
+                        parents[next] = current;
+                        depths[next] = depths[current] + 1;
+                        final int jump = jumps[current];
+                        jumps[next] = depths[current] - depths[jump] == depths[jump] - depths[jumps[jump]]
+                                ? jumps[jump] : current;
+                        queue[size++] = next;
+                    }
+                }
+            }
+        }
+    }
+
+    int parent(final int id) {
+        return parents[id];
+    }
+
+    int depth(final int id) {
+        return depths[id];
+    }
+
+    // -1 if the nodes are in different components
+    int lowestCommonAncestor(int first, int second) {
+        if (depths[first] < depths[second]) {
+            final int swap = first;
+            first = second;
+            second = swap;
+        }
+        while (depths[first] > depths[second]) {
+            first = depths[jumps[first]] >= depths[second] ? jumps[first] : parents[first];
+        }
+        // jump targets depend on the depth only, so both nodes stay on the same depth
+        while (first != second) {
+            if (parents[first] == first) {
+                return -1;
+            }
+            if (jumps[first] != jumps[second]) {
+                first = jumps[first];
+                second = jumps[second];
+            } else {
+                first = parents[first];
+                second = parents[second];
+            }
+        }
+        return first;
+    }
+}
@@ -0,0 +1,341 @@
+package edu.kit.informatik;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// a read-only network answered straight from a memory-mapped file, so the topology is neither loaded nor
+// seen by the garbage collector; nodes are referred to by their index in IP order
+//
+// the file holds big-endian ints:
+//   header     magic, version, node count, edge count
+//   addresses  per node, in IP order
+//   offsets    node count + 1 entries, the neighbors of node i are at offsets[i] until offsets[i + 1]
+//   neighbors  two per edge, each node's in IP order
+//   parents    per node, in a tree rooted at the first node of its component, -1 for that root
+//   depths     per node, its distance to that root
+//   heights    per node, the height of the tree with the node as root
+public final class MappedNetwork {
+
+    private static final int MAGIC = 0x4E45544D;
+    private static final int VERSION = 1;
+    private static final int HEADER_INTS = 4;
+
+    private final IntBuffer data;
+    private final int nodeCount;
+    private final int offsets;
+    private final int neighbors;
+    private final int parents;
+    private final int depths;
+    private final int heights;
+
+    private MappedNetwork(final IntBuffer data, final int nodeCount, final int edgeCount) {
+        this.data = data;
+        this.nodeCount = nodeCount;
+        offsets = HEADER_INTS + nodeCount;
+        neighbors = offsets + nodeCount + 1;
+        parents = neighbors + 2 * edgeCount;
+        depths = parents + nodeCount;
+        heights = depths + nodeCount;
+    }
+
+    // maps the file, the mapping stays valid after the channel is closed
+    public static MappedNetwork open(final Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            if (size > Integer.MAX_VALUE || size < HEADER_INTS * Integer.BYTES) {
+                throw new StreamCorruptedException("not a mapped network of supported size");
+            }
+            final IntBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0, size).asIntBuffer();
+            if (data.get(0) != MAGIC || data.get(1) != VERSION) {
+                throw new StreamCorruptedException("not a mapped network");
+            }
+            final int nodeCount = data.get(2);
+            final int edgeCount = data.get(3);
+            if (nodeCount < 0 || edgeCount < 0
+                    || size != (HEADER_INTS + 5L * nodeCount + 1 + 2L * edgeCount) * Integer.BYTES) {
+                throw new StreamCorruptedException("mapped network does not match its header");
+            }
+            final MappedNetwork network = new MappedNetwork(data, nodeCount, edgeCount);
+            network.checkTables(edgeCount);
+            return network;
+        }
+    }
+
+    // one pass over the tables, so a damaged file fails here instead of reading out of range or climbing
+    // forever later on
+    private void checkTables(final int edgeCount) throws StreamCorruptedException {
+        for (int index = 1; index < nodeCount; index++) {
+            if (Integer.compareUnsigned(address(index - 1), address(index)) >= 0) {
+                throw new StreamCorruptedException("mapped network addresses are not in IP order");
+            }
+        }
+        if (data.get(offsets) != 0 || data.get(offsets + nodeCount) != 2 * edgeCount) {
+            throw new StreamCorruptedException("mapped network offsets do not match its header");
+        }
+        for (int index = 0; index < nodeCount; index++) {
+            if (degree(index) < 0) {
+                throw new StreamCorruptedException("mapped network offsets are not ascending");
+            }
+        }
+        for (int k = 0; k < 2 * edgeCount; k++) {
+            if (data.get(neighbors + k) < 0 || data.get(neighbors + k) >= nodeCount) {
+                throw new StreamCorruptedException("mapped network neighbor out of range");
+            }
+        }
+        for (int index = 0; index < nodeCount; index++) {
+            final int parent = parent(index);
+            final boolean valid = parent == -1
+                    ? depth(index) == 0
+                    : parent >= 0 && parent < nodeCount && depth(index) > 0 && depth(parent) == depth(index) - 1;
+            if (!valid || data.get(heights + index) < 0) {
+                throw new StreamCorruptedException("mapped network tree of node " + index + " is inconsistent");
+            }
+        }
+
+        // the neighbors must be exactly the parent and the children, getLevels sizes its frontiers by that
+        final int[] children = new int[nodeCount];
+        for (int index = 0; index < nodeCount; index++) {
+            if (parent(index) >= 0) {
+                children[parent(index)]++;
+            }
+        }
+        for (int index = 0; index < nodeCount; index++) {
+            final int parent = parent(index);
+            if (degree(index) != children[index] + (parent < 0 ? 0 : 1)) {
+                throw new StreamCorruptedException("mapped network neighbors of node " + index + " do not match its tree");
+            }
+            int previous = -1;
+            for (int k = data.get(offsets + index); k < data.get(offsets + index + 1); k++) {
+                final int neighbor = data.get(neighbors + k);
+                // ascending, so no neighbor is listed twice in place of another
+                if (neighbor <= previous || (neighbor != parent && parent(neighbor) != index)) {
+                    throw new StreamCorruptedException("mapped network neighbors of node " + index + " do not match its tree");
+                }
+                previous = neighbor;
+            }
+        }
+    }
+
+    // writes the file open() maps, the network must not change meanwhile
+    public static void write(final Network network, final Path file) throws IOException {
+        final Graph graph = network.graph();
+        final int[] addresses = graph.sortedAddresses();
+        final int nodeCount = addresses.length;
+        final int[] ids = new int[nodeCount];
+        final int[] indices = new int[graph.limit()];
+        for (int i = 0; i < nodeCount; i++) {
+            ids[i] = graph.idOf(addresses[i]);
+            indices[ids[i]] = i;
+        }
+
+        // breadth-first from the first node of each component, in index order
+        final int[] parents = new int[nodeCount];
+        final int[] depths = new int[nodeCount];
+        final int[] order = new int[nodeCount];
+        Arrays.fill(parents, -2);
+        int size = 0;
+        for (int root = 0; root < nodeCount; root++) {
+            if (parents[root] != -2) {
+                continue;
+            }
+            parents[root] = -1;
+            order[size++] = root;
+            for (int head = size - 1; head < size; head++) {
+                final int current = order[head];
+                final int id = ids[current];
+                for (int k = 0; k < graph.degree(id); k++) {
+                    final int next = indices[graph.neighbor(id, k)];
+                    if (parents[next] == -2) {
+                        parents[next] = current;
+                        depths[next] = depths[current] + 1;
+                        order[size++] = next;
+                    }
+                }
+            }
+        }
+        final int[] heights = network.heightsById();
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(nodeCount);
+            out.writeInt(graph.edgeCount());
+            for (final int address : addresses) {
+                out.writeInt(address);
+            }
+            int offset = 0;
+            out.writeInt(offset);
+            for (final int id : ids) {
+                offset += graph.degree(id);
+                out.writeInt(offset);
+            }
+            for (final int id : ids) {
+                for (int k = 0; k < graph.degree(id); k++) {
+                    out.writeInt(indices[graph.neighbor(id, k)]);
+                }
+            }
+            for (final int parent : parents) {
+                out.writeInt(parent);
+            }
+            for (final int depth : depths) {
+                out.writeInt(depth);
+            }
+            for (final int id : ids) {
+                out.writeInt(heights[id]);
+            }
+        }
+    }
+
+    public int size() {
+        return nodeCount;
+    }
+
+    public List<IP> list() {
+        final int[] addresses = new int[nodeCount];
+        data.duplicate().position(HEADER_INTS).get(addresses);
+        return new IpList(addresses);
+    }
+
+    public boolean contains(final IP ip) {
+        return ip != null && indexOf(ip.toInt()) >= 0;
+    }
+
+    public int getHeight(final IP root) {
+        final int index = root == null ? -1 : indexOf(root.toInt());
+        return index < 0 ? 0 : data.get(heights + index);
+    }
+
+    public List<IP> getRoute(final IP start, final IP end) {
+        if (start == null || end == null) {
+            return List.of();
+        }
+        final int startIndex = indexOf(start.toInt());
+        final int endIndex = indexOf(end.toInt());
+        if (startIndex < 0 || endIndex < 0 || startIndex == endIndex) {
+            return List.of();
+        }
+
+        // climb from the deeper node until both meet, roots of different components never do
+        int first = startIndex;
+        int second = endIndex;
+        while (depth(first) > depth(second)) {
+            first = parent(first);
+        }
+        while (depth(second) > depth(first)) {
+            second = parent(second);
+        }
+        while (first != second) {
+            if (depth(first) == 0) {
+                return List.of();
+            }
+            first = parent(first);
+            second = parent(second);
+        }
+
+        final int ancestor = first;
+        final int[] route = new int[depth(startIndex) + depth(endIndex) - 2 * depth(ancestor) + 1];
+        int position = 0;
+        for (int node = startIndex; node != ancestor; node = parent(node)) {
+            route[position++] = address(node);
+        }
+        route[position] = address(ancestor);
+        position = route.length - 1;
+        for (int node = endIndex; node != ancestor; node = parent(node)) {
+            route[position--] = address(node);
+        }
+        return new IpList(route);
+    }
+
+    public List<List<IP>> getLevels(final IP root) {
+        return getLevels(root, Integer.MAX_VALUE);
+    }
+
+    // the levels up to maxDepth, the root alone being level 0
+    public List<List<IP>> getLevels(final IP root, final int maxDepth) {
+        if (maxDepth < 0) {
+            throw new IllegalArgumentException();
+        }
+        final int rootIndex = root == null ? -1 : indexOf(root.toInt());
+        if (rootIndex < 0) {
+            return List.of();
+        }
+
+        final List<List<IP>> levels = new ArrayList<>();
+        int[] frontier = {rootIndex};
+        int[] frontierParents = {-1};
+        while (frontier.length > 0 && levels.size() <= maxDepth) {
+            // indices are in IP order, so sorting them sorts the level
+            final int[] level = frontier.clone();
+            Arrays.sort(level);
+            for (int i = 0; i < level.length; i++) {
+                level[i] = address(level[i]);
+            }
+            levels.add(new IpList(level));
+
+            int size = 0;
+            for (int i = 0; i < frontier.length; i++) {
+                size += degree(frontier[i]) - (frontierParents[i] < 0 ? 0 : 1);
+            }
+            final int[] nextFrontier = new int[size];
+            final int[] nextParents = new int[size];
+            size = 0;
+            for (int i = 0; i < frontier.length; i++) {
+                final int node = frontier[i];
+                for (int k = data.get(offsets + node); k < data.get(offsets + node + 1); k++) {
+                    final int child = data.get(neighbors + k);
+                    if (child != frontierParents[i]) {
+                        nextFrontier[size] = child;
+                        nextParents[size++] = node;
+                    }
+                }
+            }
+            frontier = nextFrontier;
+            frontierParents = nextParents;
+        }
+        return levels;
+    }
+
+    private int address(final int index) {
+        return data.get(HEADER_INTS + index);
+    }
+
+    private int degree(final int index) {
+        return data.get(offsets + index + 1) - data.get(offsets + index);
+    }
+
+    private int parent(final int index) {
+        return data.get(parents + index);
+    }
+
+    private int depth(final int index) {
+        return data.get(depths + index);
+    }
+
+    // binary search in the node table
+    private int indexOf(final int address) {
+        int low = 0;
+        int high = nodeCount - 1;
+        while (low <= high) {
+            final int middle = (low + high) >>> 1;
+            final int compare = Integer.compareUnsigned(address(middle), address);
+            if (compare < 0) {
+                low = middle + 1;
+            } else if (compare > 0) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+}
@@ -1,206 +1,281 @@
 package edu.kit.informatik;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
-
-import static java.util.Arrays.asList;
-import static java.util.stream.Collectors.groupingBy;
+import java.util.stream.StreamSupport;
 
 public class Network {
 
-    private final Map<IP, Set<IP>> allNetworkSource = new LinkedHashMap<>();
+    private static final int BUFFER_SIZE = 8192;
+    // a view holds two arrays over all node ids, so only a few roots are kept by default
+    private static final int DEFAULT_VIEW_CACHE_SIZE = 4;
+
+    private final Graph graph;
+    private final RootedViewCache rootedViews = new RootedViewCache(DEFAULT_VIEW_CACHE_SIZE);
+    // incremented by every successful connect, disconnect and add, cached views of older versions are stale;
+    // volatile so a reader that sees a version also sees the changes before it
+    private volatile long modCount;
+    // rebuilt by the first route query after a mutation
+    private volatile LcaIndex routeIndex;
 
     public Network(final IP root, final List<IP> children) {
         if(root==null || children==null || children.isEmpty() || children.contains(root) || new HashSet<>(children).size()!=children.size()){
             throw new IllegalArgumentException();
         }
 
-        allNetworkSource.put(root, new TreeSet<>(children));
-        children.forEach(item -> allNetworkSource.put(item, Set.of(root)));
+        graph = new Graph();
+        final int rootId = graph.addNode(root.toInt());
+        children.forEach(item -> graph.addEdge(rootId, graph.addNode(item.toInt())));
     }
 
     public Network(final String bracketNotation) throws ParseException {
-        if (bracketNotation == null || "".equals(bracketNotation.trim()) || bracketNotation.matches(".*[(]{2,}.*") || !bracketNotation.matches("\\(.+\\)" )) {
+        if (bracketNotation == null) {
             throw new ParseException("Invalid network bracket notation provided: " + bracketNotation);
         }
 
-        final Set<Edge> edges = calcEdges(bracketNotation);
-        boolean hasCycle = doesTheyShapeACycle(edges);
-        if (hasCycle) {
-            throw new ParseException("A network notation with cycle provided: " + bracketNotation);
+        final BracketParser parser = new BracketParser();
+        parser.feed(bracketNotation, 0, bracketNotation.length());
+        parser.finish();
+        graph = Graph.ofParents(parser.nodes(), parser.parents());
+    }
+
+    // parses the groups below the root in parallel, the result and any ParseException are the ones of Network(String)
+    public static Network parse(final CharSequence bracketNotation, final ForkJoinPool pool) throws ParseException {
+        if (bracketNotation == null) {
+            throw new ParseException("Invalid network bracket notation provided: " + bracketNotation);
         }
+        final Graph graph = ParallelBracketParser.parse(bracketNotation, pool);
+        return graph != null ? new Network(graph) : new Network(bracketNotation.toString());
+    }
 
-        addEdges(edges);
+    private Network(final BracketParser parser) throws ParseException {
+        parser.finish();
+        graph = Graph.ofParents(parser.nodes(), parser.parents());
+    }
 
-        if (countIpsInStr(bracketNotation)!=list().size()) {
-            throw new ParseException("A network notation with cycle provided: " + bracketNotation);
-        }
+    Network(final Graph graph) {
+        this.graph = graph;
     }
 
-    private static int countIpsInStr(final String bracketNotation){
-        final Pattern r = Pattern.compile(IP.REGEXP);
-        Matcher m = r.matcher(bracketNotation);
+    Graph graph() {
+        return graph;
+    }
 
-        int index =0;
-        while(m.find()){
-            ++index;
-        }
-        return index;
+    public static NetworkBuilder builder() {
+        return new NetworkBuilder(0);
     }
 
-    private static void getSubLevels(List<IP> topLevel, Map<IP, Set<IP>> graphByRoot, List<List<IP>> levels) {
-        List<IP> subLevel = new ArrayList<>();
-        graphByRoot.forEach((ip, ips) -> {
-            if (topLevel.contains(ip)) {
-                subLevel.addAll(ips);
-            }
-        });
+    public static NetworkBuilder builder(final int expectedEdges) {
+        return new NetworkBuilder(expectedEdges);
+    }
 
-        if (subLevel.isEmpty()) {
-            return;
+    public static Network parse(final Reader reader) throws IOException, ParseException {
+        final BracketParser parser = new BracketParser(true);
+        final char[] buffer = new char[BUFFER_SIZE];
+        for (int read = reader.read(buffer); read >= 0; read = reader.read(buffer)) {
+            parser.feed(buffer, 0, read);
         }
-        Collections.sort(subLevel);
-        levels.add(subLevel);
-        getSubLevels(subLevel, graphByRoot, levels);
+        return new Network(parser);
     }
 
-    private static void getRoute(final IP start, final IP end, Map<IP, Set<IP>> graphByRoot, List<IP> result) {
-        if (graphByRoot.get(start).contains(end)) {
-            result.addAll(List.of(start,end));
-            return;
+    public static Network parse(final ReadableByteChannel channel) throws IOException, ParseException {
+        final BracketParser parser = new BracketParser(true);
+        final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        while (channel.read(buffer) >= 0) {
+            buffer.flip();
+            parser.feed(buffer);
+            buffer.clear();
         }
+        return new Network(parser);
+    }
 
-        for (IP item : graphByRoot.get(start)
-        ) {
-            if (graphByRoot.containsKey(item)) {
-                int resultSize = result.size();
-                getRoute(item, end, graphByRoot, result);
-                if (!result.isEmpty() && result.size()>resultSize) {
-                    result.add(0, start);
-                }
-            }
-        }
+    // reads one network in the binary form writeTo produces, the channel is left right after it
+    public static Network readFrom(final ReadableByteChannel channel) throws IOException {
+        return new Network(NetworkFormat.read(channel));
     }
 
-    private static boolean doesTheyShapeACycle(Set<Edge> edges) {
-        return edges.stream().collect(groupingBy(Edge::getValue)).entrySet().stream().anyMatch(entry -> entry.getValue() != null && entry.getValue().size() > 1);
+    public void writeTo(final WritableByteChannel channel) throws IOException {
+        writeTo(channel, false);
     }
 
-    private static Set<Edge> calcEdges(String bracketNotation) {
-        final String groupPattern = "(\\("+IP.REGEXP+"(\\s"+IP.REGEXP+")+\\))";
+    // a compact binary form: nodes in IP order and the edges between them, deflated if asked to
+    public void writeTo(final WritableByteChannel channel, final boolean deflate) throws IOException {
+        NetworkFormat.write(graph, channel, deflate);
+    }
 
-        final List<Edge> edges = new ArrayList<>();
-        final Pattern r = Pattern.compile(groupPattern);
-        String line = bracketNotation;
+    // a "parent,child" line per edge, checked like NetworkBuilder.build() but reported as ParseException
+    public static Network fromEdgeList(final Path file) throws IOException, ParseException {
+        return EdgeListFormat.read(file);
+    }
 
-        while(!line.matches(IP.REGEXP)){
-            Matcher m = r.matcher(line);
-            if(m.find()) {
-                String groupMatch = m.group();
-                line = line.replaceFirst("\\("+groupMatch+"\\)", process(groupMatch, edges));
-            }else{
-                throw new ParseException("invalid network notation provided: "+bracketNotation);
-            }
-        }
+    // each component rooted at its lowest address, every parent written before its children
+    public void writeEdgeList(final Path file) throws IOException {
+        EdgeListFormat.write(graph, file);
+    }
 
-        Set<Edge> edgesSet = new HashSet<>(edges);
-        if(edgesSet.size()!=edges.size()){
-            throw new ParseException("A network notation with cycle provided: " + bracketNotation);
+    // one network per line, a line that fails to parse yields a result holding its ParseException
+    public static List<ParseResult> parseAll(final Path file, final ExecutorService executor) throws IOException {
+        // every byte decodes to one character, so a non-ASCII byte fails in the parser for its line only
+        try (Stream<String> lines = Files.lines(file, StandardCharsets.ISO_8859_1)) {
+            return BulkLoader.parseAll(lines, executor);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
         }
-
-        return edgesSet;
     }
 
-    private static String process(String value, List<Edge> edges){
-        String onlyIpWithSpaces = value.replaceAll("[()]", "");
-        List<String> nodes = asList(onlyIpWithSpaces.split("\\s"));
-        String root = nodes.get(0);
-        nodes.subList(1,nodes.size()).forEach(ipStr->edges.add(new Edge(new IP(root), new IP(ipStr))));
-        if(nodes.size() != new HashSet<>(nodes).size()){
-            throw new ParseException("Duplicated nodes at same level found!");
-        }
-        return root;
+    public static List<ParseResult> parseAll(final Stream<String> lines, final ExecutorService executor) {
+        return BulkLoader.parseAll(lines, executor);
     }
 
-    private static Set<Edge> calcEdges(final Map<IP, Set<IP>> adjacentList) {
-        final Set<Edge> result = new HashSet<>();
-        adjacentList.forEach((parent, leaves) -> leaves.forEach(leaf -> result.add(new Edge(parent, leaf))));
-        return result;
+    public static List<ParseResult> parseAll(final Path file) throws IOException {
+        return parseAll(file, ForkJoinPool.commonPool());
     }
 
-    private static Map<IP, Set<IP>> calcGraphByRoot(IP root, Map<IP, Set<IP>> allGraph) {
-        Map<IP, Set<IP>> rootedGraph = new LinkedHashMap<>();
+    public static List<ParseResult> parseAll(final Stream<String> lines) {
+        return parseAll(lines, ForkJoinPool.commonPool());
+    }
 
-        final Queue<IP> queue = new LinkedList<>();
-        queue.add(root);
-        final Set<IP> visited = new HashSet<>();
+    private RootedView calcGraphByRoot(final int root) {
+        return rootedViews.get(graph, root, modCount);
+    }
 
-        while (!queue.isEmpty()) {
-            IP curr = queue.poll();
-            if (!visited.contains(curr)) {
-                visited.add(curr);
-                List<IP> unvisitedReverseSorted = allGraph.get(curr).stream().filter(item -> !visited.contains(item)).collect(Collectors.toList());
-                if (!unvisitedReverseSorted.isEmpty()) {
-                    rootedGraph.putIfAbsent(curr, new HashSet<>());
-                    rootedGraph.get(curr).addAll(unvisitedReverseSorted);
-                }
-                queue.addAll(new TreeSet<>(unvisitedReverseSorted));
-            }
+    public void setViewCacheSize(final int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException();
         }
-
-        return rootedGraph;
+        rootedViews.setCapacity(size);
     }
 
     public boolean add(final Network subnet) {
         if(subnet==null){
             return false;
         }
-        final List<IP> networkNodes = this.list();
-        final List<IP> subnetNodes = subnet.list();
-
-        if (subnetNodes.stream().noneMatch(networkNodes::contains)) {
-            addEdges(calcEdges(subnet.toString(subnetNodes.get(0))));
-            return true;
+        final Graph other = subnet.graph;
+        final int limit = other.limit();
+
+        // the subnet components sharing a node with this network are merged, or the one with the lowest IP if none does
+        final boolean[] involved = new boolean[other.componentBound()];
+        final int[] ids = new int[limit];
+        boolean shared = false;
+        int lowest = -1;
+        for (int id = 0; id < limit; id++) {
+            if (other.degree(id) == 0) {
+                continue;
+            }
+            ids[id] = graph.idOf(other.addressOf(id));
+            if (ids[id] >= 0) {
+                involved[other.componentOf(id)] = true;
+                shared = true;
+            }
+            if (lowest < 0 || Integer.compareUnsigned(other.addressOf(id), other.addressOf(lowest)) < 0) {
+                lowest = id;
+            }
         }
-
-        subnetNodes.retainAll(networkNodes);
-        final List<IP> commonNodes = subnetNodes;
-
-        final List<Edge> networkInvolvedEdges = new ArrayList<>();
-        commonNodes.forEach(node -> networkInvolvedEdges.addAll(calcEdges(calcGraphByRoot(node, allNetworkSource))));
-
-        final Set<Edge> subnetworkEdges = new HashSet<>();//calcEdges(subnet.toString(commonNodes.get(0)));
-
-        commonNodes.forEach(node -> subnetworkEdges.addAll(calcEdges(subnet.toString(node))));
-
-        final Set<Edge> unionEdges = Stream.concat(networkInvolvedEdges.stream(), subnetworkEdges.stream()).collect(Collectors.toSet());
-        if (doesTheyShapeACycle(unionEdges)) {
+        if (lowest < 0) {
             return false;
         }
+        if (!shared) {
+            involved[other.componentOf(lowest)] = true;
+        }
 
-        final boolean allSubnetEdgesAreAlreadyIn = subnetworkEdges.stream().allMatch(entry -> {
-                    if (!allNetworkSource.containsKey(entry.getKey())){
-                        return false;
-                    }
-                    return allNetworkSource.get(entry.getKey()).contains(entry.getValue());
+        // union the new edges in a scratch set over subnet ids, where all subnet nodes
+        // in one component of this network share the element of the first one seen
+        final DisjointSets scratch = new DisjointSets(limit);
+        final Map<Integer, Integer> components = new HashMap<>();
+        boolean changed = false;
+        for (int id = 0; id < limit; id++) {
+            if (other.degree(id) == 0 || !involved[other.componentOf(id)]) {
+                continue;
+            }
+            for (int i = 0; i < other.degree(id); i++) {
+                final int neighbor = other.neighbor(id, i);
+                if (neighbor < id || isKnownEdge(ids[id], ids[neighbor])) {
+                    continue;
                 }
-        );
-        if(allSubnetEdgesAreAlreadyIn){
+                changed = true;
+                if (!scratch.union(scratchElement(id, ids, components), scratchElement(neighbor, ids, components))) {
+                    return false;
+                }
+            }
+        }
+        if (!changed) {
             return false;
         }
-        addEdges(subnetworkEdges);
+
+        for (int id = 0; id < limit; id++) {
+            if (other.degree(id) == 0 || !involved[other.componentOf(id)]) {
+                continue;
+            }
+            for (int i = 0; i < other.degree(id); i++) {
+                final int neighbor = other.neighbor(id, i);
+                if (neighbor > id && !isKnownEdge(ids[id], ids[neighbor])) {
+                    graph.addEdge(graph.addNode(other.addressOf(id)), graph.addNode(other.addressOf(neighbor)));
+                }
+            }
+        }
+        modCount++;
         return true;
     }
 
-    public List<IP> list() {
-        final Set<IP> items = new TreeSet<>();
-        items.addAll(allNetworkSource.keySet());
-        items.addAll(allNetworkSource.values().stream().flatMap(Collection::stream).collect(Collectors.toSet()));
+    private boolean isKnownEdge(final int from, final int to) {
+        return from >= 0 && to >= 0 && graph.hasEdge(from, to);
+    }
+
+    private int scratchElement(final int id, final int[] ids, final Map<Integer, Integer> components) {
+        if (ids[id] < 0) {
+            return id;
+        }
+        final Integer element = components.putIfAbsent(graph.componentOf(ids[id]), id);
+        return element == null ? id : element;
+    }
 
-        return new ArrayList<>(items);
+    // applies the operations as one unit, all of them are undone if one throws or the transaction is aborted
+    public List<Boolean> batch(final Consumer<Transaction> operations) {
+        final Transaction transaction = new Transaction();
+        graph.openJournal();
+        try {
+            operations.accept(transaction);
+        } catch (RuntimeException | Error e) {
+            rollback();
+            throw e;
+        } finally {
+            transaction.closed = true;
+        }
+        if (transaction.aborted) {
+            rollback();
+        } else {
+            graph.closeJournal();
+        }
+        return Collections.unmodifiableList(transaction.results);
+    }
+
+    private void rollback() {
+        graph.rollbackJournal();
+        // node ids may have changed, so nothing cached before the batch is valid either
+        modCount++;
+    }
+
+    // O(1), the network and the snapshot share their storage until either side is written to
+    public NetworkSnapshot snapshot() {
+        return new NetworkSnapshot(new Network(graph.snapshot()));
+    }
+
+    public List<IP> list() {
+        return new IpList(graph.sortedAddresses());
     }
 
     public boolean connect(final IP start, final IP end) {
@@ -208,39 +283,41 @@ public class Network {
             return false;
         }
 
+        final int startId = graph.idOf(start);
+        final int endId = graph.idOf(end);
         if (start.equals(end)
-                || !allNetworkSource.keySet().containsAll(List.of(start, end))
-                || allNetworkSource.get(start).contains(end)
+                || startId < 0 || endId < 0
+                || graph.hasEdge(startId, endId)
         ) {
             return false;
         }
 
-        final Map<IP, Set<IP>> graphByRoot = calcGraphByRoot(start, allNetworkSource);
-
-        final Set<Edge> allEdges = new HashSet<>();
-        allEdges.add(new Edge(start, end));
-        allEdges.addAll(calcEdges(graphByRoot));
-
-        if (doesTheyShapeACycle(allEdges)) {
+        if (graph.connected(startId, endId)) {
             return false;
         }
 
-        addEdges(Set.of(new Edge(start, end)));
+        graph.addEdge(startId, endId);
+        modCount++;
         return true;
     }
 
     public boolean disconnect(final IP start, final IP end) {
-        if (start == null || end == null || start.equals(end) || !list().containsAll(List.of(start,end))) {
+        if (start == null || end == null || start.equals(end) || !contains(start) || !contains(end)) {
             return false;
         }
 
-        if (allNetworkSource.size() == 2) {
+        if (graph.size() == 2) {
             return false;
         }
 
-        final boolean result = allNetworkSource.get(start).remove(end) && allNetworkSource.get(end).remove(start);
+        final int startId = graph.idOf(start);
+        final int endId = graph.idOf(end);
+        final boolean result = graph.removeEdge(startId, endId);
 
-        Stream.of(start,end).filter(item->allNetworkSource.get(item).isEmpty()).forEach(allNetworkSource::remove);
+        IntStream.of(startId, endId).filter(item -> graph.degree(item) == 0).forEach(graph::removeNode);
+        if (result) {
+            modCount++;
+        }
 
         return result;
     }
@@ -249,54 +326,228 @@ public class Network {
         if(ip==null){
             return false;
         }
-        return allNetworkSource.keySet().contains(ip) || allNetworkSource.values().stream().flatMap(Collection::stream).anyMatch(ip::equals);
+        return graph.idOf(ip) >= 0;
     }
 
     public int getHeight(final IP root) {
-        if (root == null || !allNetworkSource.keySet().contains(root)) {
+        if (root == null || !contains(root)) {
             return 0;
         }
 
-        final Map<IP, Set<IP>> graphByRoot = calcGraphByRoot(root, this.allNetworkSource);
-        return graphByRoot.get(root).stream().map(item->getSubHeight(item, graphByRoot)).max(Integer::compare).orElse(0)+1;
+        final int rootId = graph.idOf(root);
+        return getSubHeight(rootId, calcGraphByRoot(rootId));
     }
 
-    private static int getSubHeight(final IP root, final Map<IP, Set<IP>> graphByRoot){
-        if(!graphByRoot.containsKey(root)){
-            return 0;
+    // the last node in breadth-first order is a deepest one, its distance to the root is the height
+    private int getSubHeight(final int root, final RootedView graphByRoot){
+        int height = 0;
+        for (int node = graphByRoot.order[graphByRoot.order.length - 1]; node != root; node = graphByRoot.parents[node]) {
+            height++;
+        }
+        return height;
+    }
+
+    // the height getHeight returns for every node as root, in two passes over each component
+    public Map<IP, Integer> getHeightsForAllRoots() {
+        final int[] heights = heightsById();
+        final Map<IP, Integer> result = new HashMap<>(graph.size() * 4 / 3 + 1);
+        for (int id = 0; id < heights.length; id++) {
+            if (graph.degree(id) > 0) {
+                result.put(graph.ipOf(id), heights[id]);
+            }
+        }
+        return result;
+    }
+
+    // the height per node id, 0 for unused ids
+    int[] heightsById() {
+        final int limit = graph.limit();
+        final int[] parents = new int[limit];
+        final int[] order = new int[graph.size()];
+        Arrays.fill(parents, -1);
+        int size = 0;
+        for (int root = 0; root < limit; root++) {
+            if (parents[root] >= 0 || graph.degree(root) == 0) {
+                continue;
+            }
+            parents[root] = root;
+            order[size++] = root;
+            for (int head = size - 1; head < size; head++) {
+                final int current = order[head];
+                for (int i = 0; i < graph.degree(current); i++) {
+                    final int next = graph.neighbor(current, i);
+                    if (parents[next] < 0) {
+                        parents[next] = current;
+                        order[size++] = next;
+                    }
+                }
+            }
         }
-        return graphByRoot.get(root).stream().map(item->getSubHeight(item, graphByRoot)).max(Integer::compare).orElse(0)+1;
+
+        // bottom-up: the height below each node and the two longest branches through its children
+        final int[] down = new int[limit];
+        final int[] best = new int[limit];
+        final int[] second = new int[limit];
+        for (int i = size - 1; i >= 0; i--) {
+            final int node = order[i];
+            down[node] = best[node];
+            final int parent = parents[node];
+            if (parent != node) {
+                final int branch = down[node] + 1;
+                if (branch > best[parent]) {
+                    second[parent] = best[parent];
+                    best[parent] = branch;
+                } else if (branch > second[parent]) {
+                    second[parent] = branch;
+                }
+            }
+        }
+
+        // top-down: the longest path leaving each node through its parent
+        final int[] up = new int[limit];
+        final int[] heights = new int[limit];
+        for (int i = 0; i < size; i++) {
+            final int node = order[i];
+            final int parent = parents[node];
+            if (parent != node) {
+                final int sibling = best[parent] == down[node] + 1 ? second[parent] : best[parent];
+                up[node] = Math.max(up[parent], sibling) + 1;
+            }
+            heights[node] = Math.max(down[node], up[node]);
+        }
+        return heights;
     }
 
     public List<List<IP>> getLevels(final IP root) {
-        if (root == null || !allNetworkSource.keySet().contains(root)) {
+        return getLevels(root, Integer.MAX_VALUE);
+    }
+
+    // the levels up to maxDepth, the root alone being level 0
+    public List<List<IP>> getLevels(final IP root, final int maxDepth) {
+        if (maxDepth < 0) {
+            throw new IllegalArgumentException();
+        }
+        if (root == null || !contains(root)) {
             return List.of();
         }
 
-        final Map<IP, Set<IP>> graphByRoot = calcGraphByRoot(root, this.allNetworkSource);
-
         final List<List<IP>> levels = new ArrayList<>();
+        for (LevelIterator iterator = new LevelIterator(graph.idOf(root)); levels.size() <= maxDepth && iterator.hasNext();) {
+            levels.add(iterator.next());
+        }
+        return levels;
+    }
 
-        List<IP> topLevel = List.of(root);
-        levels.add(topLevel);
+    // computes each level when it is consumed, the network must not change meanwhile
+    public Stream<List<IP>> levels(final IP root) {
+        if (root == null || !contains(root)) {
+            return Stream.empty();
+        }
+        final Iterator<List<IP>> levels = new LevelIterator(graph.idOf(root));
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(levels, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
 
-        getSubLevels(topLevel, graphByRoot, levels);
+    public Levels flatLevels(final IP root) {
+        if (root == null || !contains(root)) {
+            return new Levels(new int[0], new int[] {0});
+        }
 
-        return levels;
+        int[] addresses = new int[graph.size()];
+        int[] offsets = new int[16];
+        int size = 0;
+        int count = 0;
+        for (LevelIterator iterator = new LevelIterator(graph.idOf(root)); iterator.hasNext();) {
+            final int[] level = iterator.nextAddresses();
+            System.arraycopy(level, 0, addresses, size, level.length);
+            if (count + 1 == offsets.length) {
+                offsets = Arrays.copyOf(offsets, offsets.length * 2);
+            }
+            offsets[count++] = size;
+            size += level.length;
+        }
+        offsets[count] = size;
+        return new Levels(Arrays.copyOf(addresses, size), Arrays.copyOf(offsets, count + 1));
     }
 
     public List<IP> getRoute(final IP start, final IP end) {
+        return getRoute(start, end, true);
+    }
+
+    // the route if the index is current, null instead of building it; never changes the network
+    List<IP> indexedRoute(final IP start, final IP end) {
+        return getRoute(start, end, false);
+    }
+
+    // answers each pair like getRoute, in order; the pairs are spread over the pool and share one route index,
+    // so the network must not change meanwhile
+    public List<List<IP>> getRoutes(final List<? extends Map.Entry<IP, IP>> pairs, final ForkJoinPool pool) {
+        routeIndex(true);
+        // each task sets distinct elements only, join() publishes them
+        final List<List<IP>> routes = new ArrayList<>(Collections.nCopies(pairs.size(), null));
+        pool.submit(() -> IntStream.range(0, routes.size()).parallel().forEach(i -> {
+            final Map.Entry<IP, IP> pair = pairs.get(i);
+            routes.set(i, getRoute(pair.getKey(), pair.getValue()));
+        })).join();
+        return Collections.unmodifiableList(routes);
+    }
+
+    public List<List<IP>> getRoutes(final List<? extends Map.Entry<IP, IP>> pairs) {
+        return getRoutes(pairs, ForkJoinPool.commonPool());
+    }
+
+    // the routes in the order of the pairs, evaluated lazily and in parallel if the stream is parallel
+    public Stream<List<IP>> getRoutes(final Stream<? extends Map.Entry<IP, IP>> pairs) {
+        routeIndex(true);
+        return pairs.map(pair -> getRoute(pair.getKey(), pair.getValue()));
+    }
+
+    // null if the index is outdated and build is false
+    private LcaIndex routeIndex(final boolean build) {
+        // the version is read first, an index built from a state that is being changed is stale right after
+        final long version = modCount;
+        LcaIndex index = routeIndex;
+        if (index == null || index.version != version) {
+            if (!build) {
+                return null;
+            }
+            index = new LcaIndex(graph, version);
+            routeIndex = index;
+        }
+        return index;
+    }
+
+    private List<IP> getRoute(final IP start, final IP end, final boolean buildIndex) {
         if(start==null || end==null){
             return List.of();
         }
 
-        if (!list().containsAll(List.of(start, end))) {
+        if (!contains(start) || !contains(end)) {
             return List.of();
         }
-        final Map<IP, Set<IP>> graphByRoot = calcGraphByRoot(start, this.allNetworkSource);
-        final List<IP> result = new ArrayList<>();
-        getRoute(start, end, graphByRoot, result);
-        return result;
+
+        final LcaIndex index = routeIndex(buildIndex);
+        if (index == null) {
+            return null;
+        }
+
+        final int startId = graph.idOf(start);
+        final int endId = graph.idOf(end);
+        final int ancestor = startId == endId ? -1 : index.lowestCommonAncestor(startId, endId);
+        if (ancestor < 0) {
+            return List.of();
+        }
+
+        final int[] route = new int[index.depth(startId) + index.depth(endId) - 2 * index.depth(ancestor) + 1];
+        int position = 0;
+        for (int node = startId; node != ancestor; node = index.parent(node)) {
+            route[position++] = graph.addressOf(node);
+        }
+        route[position] = graph.addressOf(ancestor);
+        position = route.length - 1;
+        for (int node = endId; node != ancestor; node = index.parent(node)) {
+            route[position--] = graph.addressOf(node);
+        }
+        return new IpList(route);
     }
 
     public String toString(IP root) {
@@ -304,42 +555,26 @@ public class Network {
             return "";
         }
 
-        final Map<IP, Set<IP>> graphByRoot = calcGraphByRoot(root, this.allNetworkSource);
-
-        StringJoiner joiner = new StringJoiner(" ", "(", ")");
-        joiner.add(root.toString());
-        graphByRoot.get(root).stream().sorted(IP::compareTo).forEach(item -> {
-            if (graphByRoot.containsKey(item)) {
-                joiner.add(toString(item, graphByRoot));
-            } else {
-                joiner.add(item.toString());
-            }
-        });
-
-        return joiner.toString();
+        final StringBuilder result = new StringBuilder();
+        try {
+            new BracketWriter(graph).write(graph.idOf(root), result);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return result.toString();
     }
 
-    private String toString(IP root, Map<IP, Set<IP>> graphByRoot) {
-        StringJoiner joiner = new StringJoiner(" ", "(", ")");
-        joiner.add(root.toString());
-        graphByRoot.get(root).stream().sorted(IP::compareTo).forEach(item -> {
-            if (graphByRoot.containsKey(item)) {
-                joiner.add(toString(item, graphByRoot));
-            } else {
-                joiner.add(item.toString());
-            }
-        });
-        return joiner.toString();
+    public void toString(final IP root, final Appendable out) throws IOException {
+        if (root != null && contains(root)) {
+            new BracketWriter(graph).write(graph.idOf(root), out);
+        }
     }
 
-    private void addEdges(Set<Edge> edges) {
-        edges.forEach(entry -> {
-            allNetworkSource.putIfAbsent(entry.getKey(), new LinkedHashSet<>(List.of(entry.getValue())));
-            allNetworkSource.putIfAbsent(entry.getValue(), new LinkedHashSet<>(List.of(entry.getKey())));
-
-            allNetworkSource.get(entry.getKey()).add(entry.getValue());
-            allNetworkSource.get(entry.getValue()).add(entry.getKey());
-        });
+    // writes ASCII bytes, throws BufferOverflowException if the notation does not fit
+    public void toString(final IP root, final ByteBuffer out) {
+        if (root != null && contains(root)) {
+            new BracketWriter(graph).write(graph.idOf(root), out);
+        }
     }
 
     @Override
@@ -359,6 +594,185 @@ public class Network {
         return list().stream().map(IP::toString).collect(Collectors.joining()).hashCode();
     }
 
+    // a breadth-first frontier that only holds the current level, in a tree every neighbor but the parent is a child;
+    // the next level is only gathered once it is asked for, so stopping early costs nothing beyond the last level
+    private final class LevelIterator implements Iterator<List<IP>> {
+        private final long expectedModCount = modCount;
+        private int[] frontier;
+        private int[] parents;
+        // whether frontier was returned already and its children are still to be gathered
+        private boolean consumed;
+        // a tree has fewer nodes than the id limit, more means a concurrent change was read half done
+        private long visited;
+
+        LevelIterator(final int root) {
+            frontier = new int[] {root};
+            parents = new int[] {-1};
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (consumed) {
+                expand();
+            }
+            return frontier.length > 0;
+        }
+
+        @Override
+        public List<IP> next() {
+            return new IpList(nextAddresses());
+        }
+
+        // the addresses of the current level in IP order
+        int[] nextAddresses() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            visited += frontier.length;
+            if (modCount != expectedModCount || visited > graph.limit()) {
+                throw new ConcurrentModificationException();
+            }
+
+            final int[] level = new int[frontier.length];
+            for (int i = 0; i < level.length; i++) {
+                level[i] = graph.addressOf(frontier[i]) ^ Integer.MIN_VALUE;
+            }
+            Arrays.sort(level);
+            for (int i = 0; i < level.length; i++) {
+                level[i] ^= Integer.MIN_VALUE;
+            }
+            consumed = true;
+            return level;
+        }
+
+        private void expand() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            int size = 0;
+            for (int i = 0; i < frontier.length; i++) {
+                size += graph.degree(frontier[i]) - (parents[i] < 0 ? 0 : 1);
+            }
+            final int[] nextFrontier = new int[size];
+            final int[] nextParents = new int[size];
+            size = 0;
+            for (int i = 0; i < frontier.length; i++) {
+                final int node = frontier[i];
+                for (int j = 0; j < graph.degree(node); j++) {
+                    final int child = graph.neighbor(node, j);
+                    if (child != parents[i]) {
+                        nextFrontier[size] = child;
+                        nextParents[size++] = node;
+                    }
+                }
+            }
+            frontier = nextFrontier;
+            parents = nextParents;
+            consumed = false;
+        }
+    }
+
+    // the operations of one batch, each returns what the method of the same name on the network would
+    public final class Transaction {
+        private final List<Boolean> results = new ArrayList<>();
+        private boolean aborted;
+        private boolean closed;
+
+        private Transaction() {
+        }
+
+        public boolean add(final Network subnet) {
+            checkOpen();
+            return record(Network.this.add(subnet));
+        }
+
+        public boolean connect(final IP start, final IP end) {
+            checkOpen();
+            return record(Network.this.connect(start, end));
+        }
+
+        public boolean disconnect(final IP start, final IP end) {
+            checkOpen();
+            return record(Network.this.disconnect(start, end));
+        }
+
+        // undo everything once the batch returns
+        public void abort() {
+            checkOpen();
+            aborted = true;
+        }
+
+        private void checkOpen() {
+            if (closed) {
+                throw new IllegalStateException("transaction already finished");
+            }
+        }
+
+        private boolean record(final boolean result) {
+            results.add(result);
+            return result;
+        }
+    }
+
+    public static final class ParseResult {
+        private final int line;
+        private final Network network;
+        private final ParseException error;
+
+        ParseResult(final int line, final Network network, final ParseException error) {
+            this.line = line;
+            this.network = network;
+            this.error = error;
+        }
+
+        // the index of the line in the input, starting at 0
+        public int line() {
+            return line;
+        }
+
+        public boolean isValid() {
+            return error == null;
+        }
+
+        // null if the line is invalid
+        public Network network() {
+            return network;
+        }
+
+        // null if the line is valid
+        public ParseException error() {
+            return error;
+        }
+    }
+
+    // all levels flattened into one address array, level i spans offsets[i] until offsets[i + 1]
+    public static final class Levels {
+        private final int[] addresses;
+        private final int[] offsets;
+
+        Levels(final int[] addresses, final int[] offsets) {
+            this.addresses = addresses;
+            this.offsets = offsets;
+        }
+
+        public int count() {
+            return offsets.length - 1;
+        }
+
+        public int[] addresses() {
+            return addresses;
+        }
+
+        public int[] offsets() {
+            return offsets;
+        }
+
+        public List<IP> level(final int index) {
+            Objects.checkIndex(index, count());
+            return new IpList(Arrays.copyOfRange(addresses, offsets[index], offsets[index + 1]));
+        }
+    }
+
     public static class Edge {
         private final IP key;
         private final IP value;
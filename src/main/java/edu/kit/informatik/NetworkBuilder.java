@@ -0,0 +1,72 @@
+package edu.kit.informatik;
+
+import java.util.Arrays;
+import java.util.function.IntFunction;
+
+// collects edges without checking them, build() validates the whole forest once
+public final class NetworkBuilder {
+
+    // two addresses per edge
+    private int[] edges;
+    private int count;
+
+    NetworkBuilder(final int expectedEdges) {
+        if (expectedEdges < 0) {
+            throw new IllegalArgumentException();
+        }
+        edges = new int[Math.max(expectedEdges, 8) * 2];
+    }
+
+    public NetworkBuilder edge(final IP first, final IP second) {
+        if (first == null || second == null) {
+            throw new IllegalArgumentException();
+        }
+        return edge(first.toInt(), second.toInt());
+    }
+
+    // addresses packed as by IP.toInt()
+    public NetworkBuilder edge(final int first, final int second) {
+        if (count * 2 == edges.length) {
+            edges = Arrays.copyOf(edges, edges.length * 2);
+        }
+        edges[count * 2] = first;
+        edges[count * 2 + 1] = second;
+        count++;
+        return this;
+    }
+
+    public Network build() {
+        return build(edge -> new IllegalArgumentException(describe(edge)));
+    }
+
+    // invalidEdge makes the exception thrown for the index of the first invalid edge
+    Network build(final IntFunction<RuntimeException> invalidEdge) {
+        if (count == 0) {
+            throw new IllegalArgumentException("a network needs at least one edge");
+        }
+
+        final NodeDictionary nodes = new NodeDictionary(count + 1);
+        final int[] from = new int[count];
+        final int[] to = new int[count];
+        final DisjointSets components = new DisjointSets(count + 1);
+        for (int i = 0; i < count; i++) {
+            from[i] = idOf(nodes, edges[i * 2]);
+            to[i] = idOf(nodes, edges[i * 2 + 1]);
+            components.ensureCapacity(nodes.limit());
+            if (!components.union(from[i], to[i])) {
+                throw invalidEdge.apply(i);
+            }
+        }
+        return new Network(Graph.ofEdges(nodes, from, to, count));
+    }
+
+    String describe(final int edge) {
+        return "edge " + IP.ofInt(edges[edge * 2]) + " - " + IP.ofInt(edges[edge * 2 + 1])
+                + " is a loop, a duplicate or closes a cycle";
+    }
+
+    private static int idOf(final NodeDictionary nodes, final int address) {
+        final int id = nodes.add(address);
+        return id >= 0 ? id : nodes.idOf(address);
+    }
+}
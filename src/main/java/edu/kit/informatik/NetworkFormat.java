@@ -0,0 +1,191 @@
+package edu.kit.informatik;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+// the binary form of a network, all numbers big-endian:
+//   header  int magic, short version, short flags, int node count, int edge count, int body length, int CRC32 of the body
+//   body    node addresses in IP order, then the smaller and the larger node index of every edge as two int arrays,
+//           edges ordered by both indices; deflated if the flags say so, the length and CRC are the ones as stored
+final class NetworkFormat {
+
+    private static final int MAGIC = 0x4E455457;
+    private static final short VERSION = 1;
+    private static final short DEFLATED = 1;
+    private static final int HEADER_SIZE = 24;
+
+    private NetworkFormat() {
+    }
+
+    static void write(final Graph graph, final WritableByteChannel channel, final boolean deflate) throws IOException {
+        final int[] addresses = graph.sortedAddresses();
+        final int nodeCount = addresses.length;
+        final int[] indices = new int[graph.limit()];
+        for (int i = 0; i < nodeCount; i++) {
+            indices[graph.idOf(addresses[i])] = i;
+        }
+
+        final int edgeCount = graph.edgeCount();
+        final ByteBuffer body = ByteBuffer.allocate(Math.multiplyExact(nodeCount + 2 * edgeCount, Integer.BYTES));
+        body.asIntBuffer().put(addresses);
+        // neighbor lists are in IP order, so the larger indices of each node come out ascending
+        int edge = 0;
+        for (int i = 0; i < nodeCount; i++) {
+            final int id = graph.idOf(addresses[i]);
+            for (int k = 0; k < graph.degree(id); k++) {
+                final int j = indices[graph.neighbor(id, k)];
+                if (j > i) {
+                    body.putInt((nodeCount + edge) * Integer.BYTES, i);
+                    body.putInt((nodeCount + edgeCount + edge) * Integer.BYTES, j);
+                    edge++;
+                }
+            }
+        }
+
+        final ByteBuffer stored = deflate ? deflate(body) : body;
+        final CRC32 crc = new CRC32();
+        crc.update(stored.duplicate());
+
+        final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC).putShort(VERSION).putShort(deflate ? DEFLATED : 0)
+                .putInt(nodeCount).putInt(edgeCount).putInt(stored.remaining()).putInt((int) crc.getValue());
+        header.flip();
+        writeFully(channel, header);
+        writeFully(channel, stored);
+    }
+
+    // reads exactly one network, the channel is left right after it
+    static Graph read(final ReadableByteChannel channel) throws IOException {
+        final ByteBuffer header = readFully(channel, HEADER_SIZE);
+        if (header.getInt() != MAGIC) {
+            throw new StreamCorruptedException("not a network");
+        }
+        final short version = header.getShort();
+        if (version != VERSION) {
+            throw new StreamCorruptedException("unsupported network format version " + version);
+        }
+        final short flags = header.getShort();
+        final int nodeCount = header.getInt();
+        final int edgeCount = header.getInt();
+        final int storedLength = header.getInt();
+        final int checksum = header.getInt();
+        // a network is a forest with at least one edge and without nodes of degree 0
+        if ((flags & ~DEFLATED) != 0 || edgeCount < 1 || edgeCount >= nodeCount || nodeCount > 2 * edgeCount
+                || storedLength < 0) {
+            throw new StreamCorruptedException("invalid network header");
+        }
+        final long bodyLength = ((long) nodeCount + 2L * edgeCount) * Integer.BYTES;
+        // deflate never grows data by more than a few bytes per block
+        if (bodyLength >= Integer.MAX_VALUE
+                || (flags == 0 ? storedLength != bodyLength : storedLength > bodyLength + (bodyLength >> 3) + 64)) {
+            throw new StreamCorruptedException("invalid network header");
+        }
+        final int length = (int) bodyLength;
+
+        final ByteBuffer stored = readFully(channel, storedLength);
+        final CRC32 crc = new CRC32();
+        crc.update(stored.duplicate());
+        if ((int) crc.getValue() != checksum) {
+            throw new StreamCorruptedException("network checksum mismatch");
+        }
+        final ByteBuffer body = flags == DEFLATED ? inflate(stored, length) : stored;
+
+        final int[] addresses = new int[nodeCount];
+        final int[] from = new int[edgeCount];
+        final int[] to = new int[edgeCount];
+        body.asIntBuffer().get(addresses).get(from).get(to);
+        validate(addresses, from, to);
+        return Graph.ofSortedEdges(addresses, from, to, edgeCount);
+    }
+
+    // what Graph.ofSortedEdges relies on: sorted distinct nodes, ordered distinct edges, no cycle and no lone node
+    private static void validate(final int[] addresses, final int[] from, final int[] to) throws IOException {
+        for (int i = 1; i < addresses.length; i++) {
+            if (Integer.compareUnsigned(addresses[i - 1], addresses[i]) >= 0) {
+                throw new StreamCorruptedException("network nodes not in IP order");
+            }
+        }
+        final boolean[] connected = new boolean[addresses.length];
+        final DisjointSets components = new DisjointSets(addresses.length);
+        for (int i = 0; i < from.length; i++) {
+            if (from[i] < 0 || from[i] >= to[i] || to[i] >= addresses.length
+                    || (i > 0 && (from[i] < from[i - 1] || (from[i] == from[i - 1] && to[i] <= to[i - 1])))) {
+                throw new StreamCorruptedException("invalid network edge " + i);
+            }
+            if (!components.union(from[i], to[i])) {
+                throw new StreamCorruptedException("network edge " + i + " closes a cycle");
+            }
+            connected[from[i]] = true;
+            connected[to[i]] = true;
+        }
+        for (int i = 0; i < connected.length; i++) {
+            if (!connected[i]) {
+                throw new StreamCorruptedException("network node " + IP.ofInt(addresses[i]) + " without edges");
+            }
+        }
+    }
+
+    private static ByteBuffer deflate(final ByteBuffer body) {
+        final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(body.duplicate());
+            deflater.finish();
+            ByteBuffer out = ByteBuffer.allocate(Math.max(64, body.remaining() / 2));
+            while (!deflater.finished()) {
+                if (!out.hasRemaining()) {
+                    out = ByteBuffer.allocate(out.capacity() * 2).put(out.flip());
+                }
+                deflater.deflate(out);
+            }
+            return out.flip();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static ByteBuffer inflate(final ByteBuffer stored, final int length) throws IOException {
+        final Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(stored);
+            // one spare byte, so a body longer than announced shows instead of stopping the inflater
+            final ByteBuffer body = ByteBuffer.allocate(length + 1);
+            while (!inflater.finished() && body.hasRemaining()) {
+                if (inflater.inflate(body) == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+            }
+            if (body.position() != length || !inflater.finished() || inflater.getRemaining() != 0) {
+                throw new StreamCorruptedException("network body does not match its header");
+            }
+            return body.flip();
+        } catch (DataFormatException e) {
+            throw new StreamCorruptedException("invalid deflated network body: " + e.getMessage());
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static ByteBuffer readFully(final ReadableByteChannel channel, final int length) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException("network ends after " + buffer.position() + " of " + length + " bytes");
+            }
+        }
+        return buffer.flip();
+    }
+
+    private static void writeFully(final WritableByteChannel channel, final ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
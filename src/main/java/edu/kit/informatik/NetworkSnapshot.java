@@ -0,0 +1,88 @@
+package edu.kit.informatik;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+// the state of a network at one point in time, later changes to the network do not show here
+public final class NetworkSnapshot {
+
+    // never changed, it only shares the storage of the network the snapshot was taken of
+    private final Network network;
+
+    NetworkSnapshot(final Network network) {
+        this.network = network;
+    }
+
+    public List<IP> list() {
+        return network.list();
+    }
+
+    public boolean contains(final IP ip) {
+        return network.contains(ip);
+    }
+
+    public int getHeight(final IP root) {
+        return network.getHeight(root);
+    }
+
+    public Map<IP, Integer> getHeightsForAllRoots() {
+        return network.getHeightsForAllRoots();
+    }
+
+    public List<List<IP>> getLevels(final IP root) {
+        return network.getLevels(root);
+    }
+
+    public List<List<IP>> getLevels(final IP root, final int maxDepth) {
+        return network.getLevels(root, maxDepth);
+    }
+
+    public Stream<List<IP>> levels(final IP root) {
+        return network.levels(root);
+    }
+
+    public Network.Levels flatLevels(final IP root) {
+        return network.flatLevels(root);
+    }
+
+    public List<IP> getRoute(final IP start, final IP end) {
+        return network.getRoute(start, end);
+    }
+
+    public List<List<IP>> getRoutes(final List<? extends Map.Entry<IP, IP>> pairs) {
+        return network.getRoutes(pairs);
+    }
+
+    public List<List<IP>> getRoutes(final List<? extends Map.Entry<IP, IP>> pairs, final ForkJoinPool pool) {
+        return network.getRoutes(pairs, pool);
+    }
+
+    public Stream<List<IP>> getRoutes(final Stream<? extends Map.Entry<IP, IP>> pairs) {
+        return network.getRoutes(pairs);
+    }
+
+    public void writeTo(final WritableByteChannel channel) throws IOException {
+        network.writeTo(channel);
+    }
+
+    public void writeTo(final WritableByteChannel channel, final boolean deflate) throws IOException {
+        network.writeTo(channel, deflate);
+    }
+
+    public String toString(final IP root) {
+        return network.toString(root);
+    }
+
+    public void toString(final IP root, final Appendable out) throws IOException {
+        network.toString(root, out);
+    }
+
+    public void toString(final IP root, final ByteBuffer out) {
+        network.toString(root, out);
+    }
+}
@@ -0,0 +1,243 @@
+package edu.kit.informatik;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+final class NodeDictionary {
+
+    // open addressing with linear probing, a slot holds id + 1 and 0 marks it free
+    private ChunkedInts slots;
+    private int mask;
+    private ChunkedInts addresses;
+    private int size;
+    // ids below limit were handed out, the ones of removed nodes wait in freeIds for reuse
+    private int limit;
+    private int[] freeIds = new int[0];
+    private int freeCount;
+    // freeIds is copied before the next change while a snapshot may still read it
+    private boolean freeIdsShared;
+
+    NodeDictionary() {
+        this(16);
+    }
+
+    NodeDictionary(final int expectedSize) {
+        slots = new ChunkedInts(tableSizeFor(expectedSize));
+        mask = slots.length() - 1;
+        addresses = new ChunkedInts(Math.max(expectedSize, 4));
+    }
+
+    private NodeDictionary(final NodeDictionary shared) {
+        slots = shared.slots.share();
+        mask = shared.mask;
+        addresses = shared.addresses.share();
+        size = shared.size;
+        limit = shared.limit;
+        freeIds = shared.freeIds;
+        freeCount = shared.freeCount;
+        freeIdsShared = true;
+        shared.freeIdsShared = true;
+    }
+
+    // a dictionary where id i holds addresses[i] for every i below count, or null if an address occurs twice;
+    // the table is filled in parallel by disjoint slot regions, an entry probing past the end of its region
+    // is placed afterwards
+    static NodeDictionary ofAddresses(final int[] addresses, final int count, final ForkJoinPool pool) {
+        final NodeDictionary dictionary = new NodeDictionary(count);
+        final int tableBits = Integer.numberOfTrailingZeros(dictionary.mask + 1);
+        // regions of at least 4096 slots, so few entries overflow
+        final int regionBits = Math.min(tableBits - 12, 6);
+        if (regionBits <= 0) {
+            for (int id = 0; id < count; id++) {
+                if (dictionary.add(addresses[id]) < 0) {
+                    return null;
+                }
+            }
+            return dictionary;
+        }
+        final int regionShift = tableBits - regionBits;
+        final int regions = 1 << regionBits;
+
+        final int[] homes = new int[count];
+        pool.submit(() -> IntStream.range(0, count).parallel().forEach(id -> {
+            homes[id] = hash(addresses[id]) & dictionary.mask;
+            dictionary.addresses.set(id, addresses[id]);
+        })).join();
+
+        // the ids grouped by the region of their home slot
+        final int[] starts = new int[regions + 1];
+        for (int id = 0; id < count; id++) {
+            starts[(homes[id] >>> regionShift) + 1]++;
+        }
+        for (int region = 0; region < regions; region++) {
+            starts[region + 1] += starts[region];
+        }
+        final int[] ids = new int[count];
+        final int[] positions = Arrays.copyOf(starts, regions);
+        for (int id = 0; id < count; id++) {
+            ids[positions[homes[id] >>> regionShift]++] = id;
+        }
+
+        final List<int[]> overflows = pool.submit(() -> IntStream.range(0, regions).parallel()
+                .mapToObj(region -> dictionary.fillRegion(region << regionShift, (region + 1) << regionShift,
+                        ids, starts[region], starts[region + 1], homes))
+                .collect(Collectors.toList())).join();
+
+        dictionary.size = count;
+        dictionary.limit = count;
+        for (final int[] overflow : overflows) {
+            if (overflow == null) {
+                return null;
+            }
+            for (int i = 1; i <= overflow[0]; i++) {
+                final int id = overflow[i];
+                int slot = homes[id];
+                for (; dictionary.slots.get(slot) != 0; slot = (slot + 1) & dictionary.mask) {
+                    if (dictionary.addresses.get(dictionary.slots.get(slot) - 1) == addresses[id]) {
+                        return null;
+                    }
+                }
+                dictionary.slots.set(slot, id + 1);
+            }
+        }
+        return dictionary;
+    }
+
+    // places ids[from] until ids[to] within the slots regionStart until regionEnd; returns the ids that
+    // reach the end of the region, the count first, or null if an address occurs twice
+    private int[] fillRegion(final int regionStart, final int regionEnd, final int[] ids, final int from, final int to,
+                             final int[] homes) {
+        int[] overflow = new int[8];
+        for (int i = from; i < to; i++) {
+            final int id = ids[i];
+            final int address = addresses.get(id);
+            int slot = homes[id];
+            while (slot < regionEnd && slots.get(slot) != 0) {
+                if (addresses.get(slots.get(slot) - 1) == address) {
+                    return null;
+                }
+                slot++;
+            }
+            if (slot < regionEnd) {
+                slots.set(slot, id + 1);
+            } else {
+                if (++overflow[0] == overflow.length) {
+                    overflow = Arrays.copyOf(overflow, overflow.length * 2);
+                }
+                overflow[overflow[0]] = id;
+            }
+        }
+        return overflow;
+    }
+
+    // a copy sharing the storage, changes to either one do not show in the other
+    NodeDictionary share() {
+        return new NodeDictionary(this);
+    }
+
+    int size() {
+        return size;
+    }
+
+    int limit() {
+        return limit;
+    }
+
+    int addressOf(final int id) {
+        return addresses.get(id);
+    }
+
+    int idOf(final int address) {
+        for (int slot = hash(address) & mask; slots.get(slot) != 0; slot = (slot + 1) & mask) {
+            if (addresses.get(slots.get(slot) - 1) == address) {
+                return slots.get(slot) - 1;
+            }
+        }
+        return -1;
+    }
+
+    // returns the id of the new node, or -1 if the address is already known
+    int add(final int address) {
+        int slot = hash(address) & mask;
+        for (; slots.get(slot) != 0; slot = (slot + 1) & mask) {
+            if (addresses.get(slots.get(slot) - 1) == address) {
+                return -1;
+            }
+        }
+        final int id;
+        if (freeCount > 0) {
+            id = freeIds[--freeCount];
+        } else {
+            if (limit == addresses.length()) {
+                addresses.grow(limit * 2);
+            }
+            id = limit++;
+        }
+        addresses.set(id, address);
+        slots.set(slot, id + 1);
+        if (++size * 2 > mask + 1) {
+            rehash((mask + 1) * 2);
+        }
+        return id;
+    }
+
+    // returns the id the address had, or -1 if it is unknown
+    int remove(final int address) {
+        int hole = hash(address) & mask;
+        while (slots.get(hole) != 0 && addresses.get(slots.get(hole) - 1) != address) {
+            hole = (hole + 1) & mask;
+        }
+        if (slots.get(hole) == 0) {
+            return -1;
+        }
+        final int id = slots.get(hole) - 1;
+
+        // shift back the entries of the probe sequence that would not be found across the hole
+        for (int slot = (hole + 1) & mask; slots.get(slot) != 0; slot = (slot + 1) & mask) {
+            final int home = hash(addresses.get(slots.get(slot) - 1)) & mask;
+            if (((slot - home) & mask) >= ((slot - hole) & mask)) {
+                slots.set(hole, slots.get(slot));
+                hole = slot;
+            }
+        }
+        slots.set(hole, 0);
+
+        if (freeIdsShared || freeCount == freeIds.length) {
+            freeIds = Arrays.copyOf(freeIds, Math.max(4, freeCount * 2));
+            freeIdsShared = false;
+        }
+        freeIds[freeCount++] = id;
+        size--;
+        return id;
+    }
+
+    private void rehash(final int tableSize) {
+        final ChunkedInts old = slots;
+        final int oldSize = mask + 1;
+        slots = new ChunkedInts(tableSize);
+        mask = tableSize - 1;
+        for (int i = 0; i < oldSize; i++) {
+            final int entry = old.get(i);
+            if (entry != 0) {
+                int slot = hash(addresses.get(entry - 1)) & mask;
+                while (slots.get(slot) != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                slots.set(slot, entry);
+            }
+        }
+    }
+
+    private static int hash(final int address) {
+        final int h = address * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    // at least one chunk, so the table size is a power of two either way
+    private static int tableSizeFor(final int expectedSize) {
+        return Integer.highestOneBit(Math.max(expectedSize, 128) * 2 - 1) << 1;
+    }
+}
@@ -0,0 +1,184 @@
+package edu.kit.informatik;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.stream.IntStream;
+
+// parses the groups directly below the root on a pool and merges them in text order; any notation it
+// does not accept is left to the sequential parser, so errors are reported exactly the same way
+final class ParallelBracketParser {
+
+    // consecutive groups are handed to the pool together until they span this many characters
+    private static final int RUN_LENGTH = 1 << 16;
+
+    // the nodes of consecutive groups, the ids of group i end before groupEnds[i]
+    private static final class Run {
+        private final NodeDictionary nodes;
+        private final int[] parents;
+        private final int[] groupEnds;
+
+        private Run(final NodeDictionary nodes, final int[] parents, final int[] groupEnds) {
+            this.nodes = nodes;
+            this.parents = parents;
+            this.groupEnds = groupEnds;
+        }
+    }
+
+    private ParallelBracketParser() {
+    }
+
+    // null if the notation is invalid or has no groups below the root
+    static Graph parse(final CharSequence text, final ForkJoinPool pool) {
+        final int length = text.length();
+        if (length == 0 || text.charAt(0) != '(') {
+            return null;
+        }
+
+        // pre-scan for the start and end of every group directly below the root
+        int[] starts = new int[16];
+        int[] ends = new int[16];
+        int groups = 0;
+        int depth = 0;
+        for (int i = 0; i < length; i++) {
+            final char c = text.charAt(i);
+            if (c == '(') {
+                if (++depth == 2) {
+                    if (groups == starts.length) {
+                        starts = Arrays.copyOf(starts, groups * 2);
+                        ends = Arrays.copyOf(ends, groups * 2);
+                    }
+                    starts[groups] = i;
+                }
+            } else if (c == ')') {
+                if (depth == 2) {
+                    ends[groups++] = i + 1;
+                }
+                if (--depth == 0 && i != length - 1) {
+                    return null;
+                }
+            }
+        }
+        if (depth != 0 || groups == 0) {
+            return null;
+        }
+
+        final List<ForkJoinTask<Run>> runs = new ArrayList<>();
+        for (int first = 0; first < groups;) {
+            int last = first + 1;
+            while (last < groups && ends[last - 1] - starts[first] < RUN_LENGTH) {
+                last++;
+            }
+            final int from = first;
+            final int to = last;
+            final int[] groupStarts = starts;
+            final int[] groupEnds = ends;
+            runs.add(pool.submit(() -> parseRun(text, groupStarts, groupEnds, from, to)));
+            first = last;
+        }
+
+        try {
+            return merge(text, starts, ends, groups, runs, pool);
+        } catch (ParseException e) {
+            runs.forEach(run -> run.cancel(false));
+            return null;
+        }
+    }
+
+    private static Run parseRun(final CharSequence text, final int[] starts, final int[] ends, final int from, final int to)
+            throws ParseException {
+        final BracketParser parser = new BracketParser();
+        final int[] groupEnds = new int[to - from];
+        for (int group = from; group < to; group++) {
+            if (group > from) {
+                parser.nextGroup();
+            }
+            parser.feed(text, starts[group], ends[group]);
+            groupEnds[group - from] = parser.nodes().limit();
+        }
+        parser.finish();
+        return new Run(parser.nodes(), parser.parents(), groupEnds);
+    }
+
+    private static Graph merge(final CharSequence text, final int[] starts, final int[] ends, final int groups,
+                               final List<ForkJoinTask<Run>> tasks, final ForkJoinPool pool) throws ParseException {
+        // the root and the leaves directly below it, while the pool parses the groups; -1 marks a group
+        final int length = text.length();
+        int[] items = new int[16];
+        boolean[] leaves = new boolean[16];
+        int itemCount = 0;
+        int end = scanIp(text, 1);
+        final int rootAddress = IP.parseAddress(text, 1, end);
+        int position = end;
+        int group = 0;
+        while (true) {
+            if (position >= length - 1 || !BracketParser.isSeparator(text.charAt(position))) {
+                throw new ParseException("Invalid network bracket notation at index " + position);
+            }
+            position++;
+            if (itemCount == items.length) {
+                items = Arrays.copyOf(items, itemCount * 2);
+                leaves = Arrays.copyOf(leaves, itemCount * 2);
+            }
+            if (group < groups && position == starts[group]) {
+                position = ends[group++];
+            } else {
+                end = scanIp(text, position);
+                items[itemCount] = IP.parseAddress(text, position, end);
+                leaves[itemCount] = true;
+                position = end;
+            }
+            itemCount++;
+            if (position == length - 1 && text.charAt(position) == ')') {
+                break;
+            }
+        }
+
+        final Run[] runs = new Run[tasks.size()];
+        int size = 1 + itemCount - groups;
+        for (int i = 0; i < runs.length; i++) {
+            runs[i] = tasks.get(i).join();
+            size += runs[i].nodes.size();
+        }
+
+        // the root first, then the leaves, then every run's nodes from its offset on in their local order, so
+        // a parent still comes before its children and a run's ids only need shifting
+        final int[] addresses = new int[size];
+        final int[] parents = new int[size];
+        addresses[0] = rootAddress;
+        parents[0] = -1;
+        int next = 1;
+        for (int item = 0; item < itemCount; item++) {
+            if (leaves[item]) {
+                addresses[next++] = items[item];
+            }
+        }
+        final int[] offsets = new int[runs.length];
+        for (int i = 0; i < runs.length; i++) {
+            offsets[i] = next;
+            next += runs[i].nodes.size();
+        }
+        pool.submit(() -> IntStream.range(0, runs.length).parallel().forEach(i -> {
+            final Run run = runs[i];
+            for (int local = 0; local < run.nodes.limit(); local++) {
+                addresses[offsets[i] + local] = run.nodes.addressOf(local);
+                parents[offsets[i] + local] = run.parents[local] < 0 ? 0 : offsets[i] + run.parents[local];
+            }
+        })).join();
+
+        final NodeDictionary nodes = NodeDictionary.ofAddresses(addresses, size, pool);
+        if (nodes == null) {
+            throw new ParseException("A network notation with cycle provided, a node occurs twice");
+        }
+        return Graph.ofParents(nodes, parents);
+    }
+
+    private static int scanIp(final CharSequence text, int position) {
+        while (position < text.length() && (Character.isDigit(text.charAt(position)) || text.charAt(position) == '.')) {
+            position++;
+        }
+        return position;
+    }
+}
@@ -0,0 +1,37 @@
+package edu.kit.informatik;
+
+import java.util.Arrays;
+
+final class RootedView {
+
+    final int root;
+    // parent id per node id, the root is its own parent and -1 marks nodes outside the root's tree
+    final int[] parents;
+    // the nodes of the root's tree in breadth-first order, children in IP order
+    final int[] order;
+
+    RootedView(final Graph graph, final int root) {
+        this.root = root;
+        this.parents = new int[graph.limit()];
+        Arrays.fill(parents, -1);
+        parents[root] = root;
+
+        int[] queue = new int[16];
+        queue[0] = root;
+        int size = 1;
+        for (int head = 0; head < size; head++) {
+            final int current = queue[head];
+            for (int i = 0; i < graph.degree(current); i++) {
+                final int next = graph.neighbor(current, i);
+                if (parents[next] < 0) {
+                    parents[next] = current;
+                    if (size == queue.length) {
+                        queue = Arrays.copyOf(queue, size * 2);
+                    }
+                    queue[size++] = next;
+                }
+            }
+        }
+        this.order = Arrays.copyOf(queue, size);
+    }
+}
@@ -0,0 +1,43 @@
+package edu.kit.informatik;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// the least recently used rooted views of one network, all dropped once the network's version moves on
+final class RootedViewCache {
+
+    private final Map<Integer, RootedView> views = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<Integer, RootedView> eldest) {
+            return size() > capacity;
+        }
+    };
+    private int capacity;
+    private long version;
+
+    RootedViewCache(final int capacity) {
+        this.capacity = capacity;
+    }
+
+    synchronized RootedView get(final Graph graph, final int root, final long currentVersion) {
+        if (version != currentVersion) {
+            views.clear();
+            version = currentVersion;
+        }
+        if (capacity == 0) {
+            return new RootedView(graph, root);
+        }
+        return views.computeIfAbsent(root, id -> new RootedView(graph, id));
+    }
+
+    synchronized void setCapacity(final int capacity) {
+        this.capacity = capacity;
+        if (views.size() > capacity) {
+            views.clear();
+        }
+    }
+
+    synchronized int size() {
+        return views.size();
+    }
+}
@@ -0,0 +1,54 @@
+package edu.kit.informatik;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChunkedIntsTest {
+    @Test
+    void testSharedCopiesAgainstArrays() {
+        Random random = new Random(17);
+        ChunkedInts live = new ChunkedInts(10);
+        int[] expected = new int[live.length()];
+        List<ChunkedInts> shared = new ArrayList<>();
+        List<int[]> copies = new ArrayList<>();
+
+        for (int step = 0; step < 50_000; step++) {
+            int action = random.nextInt(100);
+            if (action == 0) {
+                shared.add(live.share());
+                copies.add(expected.clone());
+            } else if (action == 1) {
+                live.grow(live.length() + random.nextInt(600));
+                expected = Arrays.copyOf(expected, live.length());
+            } else if (action < 10 && !shared.isEmpty()) {
+                // a shared copy may be written to as well without affecting the others
+                int which = random.nextInt(shared.size());
+                int index = random.nextInt(copies.get(which).length);
+                shared.get(which).set(index, step);
+                copies.get(which)[index] = step;
+            } else {
+                int index = random.nextInt(expected.length);
+                live.set(index, step);
+                expected[index] = step;
+            }
+        }
+
+        assertContent(expected, live);
+        for (int i = 0; i < shared.size(); i++) {
+            assertContent(copies.get(i), shared.get(i));
+        }
+    }
+
+    private static void assertContent(int[] expected, ChunkedInts actual) {
+        assertEquals(expected.length, actual.length());
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], actual.get(i));
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package edu.kit.informatik;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static edu.kit.informatik.util.KoeriTestUtils.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConcurrentNetworkTest {
+    private static final IP ROOT = ip("90.240.18.65");
+    private static final IP INNER = ip("97.22.140.27");
+    private static final IP LEAF = ip("166.114.94.115");
+    private static final IP OTHER_LEAF = ip("13.163.16.235");
+
+    @Test
+    void testReadsSeeWholeWritesOnly() throws Exception {
+        // the writer keeps splitting the network at one edge and joining it again, readers must see either state
+        Network joined = network(MEDIUM_NET);
+        Network split = network(MEDIUM_NET);
+        assertTrue(split.disconnect(ROOT, INNER));
+
+        Set<String> notations = Set.of(joined.toString(ROOT), split.toString(ROOT));
+        Set<List<List<IP>>> levels = Set.of(joined.getLevels(ROOT), split.getLevels(ROOT));
+        Set<List<IP>> routes = Set.of(joined.getRoute(LEAF, OTHER_LEAF), split.getRoute(LEAF, OTHER_LEAF));
+        List<IP> nodes = joined.list();
+
+        ConcurrentNetwork network = new ConcurrentNetwork(MEDIUM_NET);
+        AtomicBoolean running = new AtomicBoolean(true);
+        ExecutorService executor = Executors.newFixedThreadPool(5);
+        try {
+            List<Future<Integer>> readers = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                readers.add(executor.submit(() -> {
+                    int reads = 0;
+                    while (running.get()) {
+                        assertTrue(routes.contains(network.getRoute(LEAF, OTHER_LEAF)));
+                        assertTrue(notations.contains(network.toString(ROOT)));
+                        assertTrue(levels.contains(network.getLevels(ROOT)));
+                        assertTrue(network.contains(nodes.get(reads % nodes.size())));
+                        reads++;
+                    }
+                    return reads;
+                }));
+            }
+            Future<Integer> writer = executor.submit(() -> {
+                int writes = 0;
+                for (; writes < 5_000; writes++) {
+                    assertTrue(network.disconnect(ROOT, INNER));
+                    assertTrue(network.connect(ROOT, INNER));
+                }
+                running.set(false);
+                return writes;
+            });
+
+            assertEquals(5_000, writer.get(60, TimeUnit.SECONDS));
+            for (Future<Integer> reader : readers) {
+                assertTrue(reader.get(60, TimeUnit.SECONDS) > 0);
+            }
+        } finally {
+            running.set(false);
+            executor.shutdownNow();
+        }
+
+        assertEquals(joined.toString(ROOT), network.toString(ROOT));
+        assertEquals(nodes, network.list());
+        assertEquals(joined.getHeight(LEAF), network.getHeight(LEAF));
+    }
+
+    @Test
+    void testSingleThreadedBehaviour() {
+        ConcurrentNetwork network = new ConcurrentNetwork(SMALL_NET);
+        Network expected = network(SMALL_NET);
+        assertEquals(expected.list(), network.list());
+        assertTrue(network.add(network("(1.1.1.1 2.2.2.2)")));
+        assertTrue(network.connect(ip("1.1.1.1"), ip("85.193.148.81")));
+        assertEquals(List.of(true, false), network.batch(transaction -> {
+            transaction.disconnect(ip("1.1.1.1"), ip("85.193.148.81"));
+            transaction.connect(ip("1.1.1.1"), ip("2.2.2.2"));
+        }));
+        assertEquals(List.of(), network.getRoute(ip("1.1.1.1"), ip("85.193.148.81")));
+        for (IP node : expected.list()) {
+            assertEquals(expected.getHeight(node), network.getHeight(node));
+            assertEquals(expected.getHeight(node), network.getHeightsForAllRoots().get(node));
+        }
+        assertThrows(IllegalArgumentException.class, () -> network.getLevels(ip("1.1.1.1"), -1));
+    }
+}
@@ -0,0 +1,36 @@
+package edu.kit.informatik;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DisjointSetsTest {
+    @Test
+    void testUnionAgainstLabels() {
+        Random random = new Random(7);
+        DisjointSets sets = new DisjointSets(4);
+        int[] labels = new int[2_000];
+        Arrays.setAll(labels, i -> i);
+        sets.ensureCapacity(labels.length);
+
+        for (int step = 0; step < 20_000; step++) {
+            int first = random.nextInt(labels.length);
+            int second = random.nextInt(labels.length);
+            boolean separate = labels[first] != labels[second];
+            assertEquals(!separate, sets.connected(first, second));
+            assertEquals(separate, sets.union(first, second));
+            if (separate) {
+                int from = labels[second];
+                for (int i = 0; i < labels.length; i++) {
+                    if (labels[i] == from) {
+                        labels[i] = labels[first];
+                    }
+                }
+            }
+            assertTrue(sets.connected(first, second));
+        }
+    }
+}
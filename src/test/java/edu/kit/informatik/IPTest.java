@@ -2,9 +2,12 @@ package edu.kit.informatik;
 
 import edu.kit.informatik.util.KoeriTestUtils;
 import edu.kit.informatik.util.LinesSource;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.NullAndEmptySource;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -51,4 +54,60 @@ public class IPTest {
             ++idx;
         }
     }
+
+    @ParameterizedTest
+    @LinesSource("ip/valid")
+    void testIpIntRoundTrip(String ipString) {
+        IP ip = ip(ipString);
+        assertEquals(ip, IP.ofInt(ip.toInt()));
+        assertEquals(ipString, IP.ofInt(ip.toInt()).toString());
+        assertEquals(ip.hashCode(), IP.ofInt(ip.toInt()).hashCode());
+    }
+
+    @ParameterizedTest
+    @LinesSource("ip/valid")
+    void testIpIntPacking(String ipString) {
+        List<Integer> parts = ip(ipString).getParts();
+        int packed = parts.get(0) << 24 | parts.get(1) << 16 | parts.get(2) << 8 | parts.get(3);
+        assertEquals(packed, ip(ipString).toInt());
+    }
+
+    @Test
+    void testIpCompareIsUnsigned() {
+        assertTrue(ip("127.255.255.255").compareTo(ip("128.0.0.0")) < 0);
+        assertTrue(ip("255.255.255.255").compareTo(ip("0.0.0.0")) > 0);
+        assertTrue(IP.ofInt(-1).compareTo(IP.ofInt(Integer.MAX_VALUE)) > 0);
+        assertEquals("255.255.255.255", IP.ofInt(-1).toString());
+    }
+
+    @ParameterizedTest
+    @LinesSource("ip/invalid")
+    void testInvalidIpRangeParsing(String invalidIp) {
+        String padded = "(" + invalidIp + " ";
+        byte[] bytes = padded.getBytes(StandardCharsets.UTF_8);
+        int to = bytes.length - 1;
+        assertThrows(ParseException.class, () -> IP.parse(padded, 1, padded.length() - 1));
+        assertThrows(ParseException.class, () -> IP.parse(bytes, 1, to));
+        assertThrows(ParseException.class, () -> IP.parse(ByteBuffer.wrap(bytes), 1, to));
+    }
+
+    @ParameterizedTest
+    @LinesSource("ip/valid")
+    void testIpRangeParsing(String validIp) {
+        String padded = "(" + validIp + " ";
+        byte[] bytes = padded.getBytes(StandardCharsets.US_ASCII);
+        assertEquals(ip(validIp), IP.parse(padded, 1, padded.length() - 1));
+        assertEquals(ip(validIp), IP.parse(bytes, 1, bytes.length - 1));
+        assertEquals(ip(validIp), IP.parse(ByteBuffer.wrap(bytes), 1, bytes.length - 1));
+    }
+
+    @ParameterizedTest
+    @LinesSource(value = {"ip/valid", "ip/invalid"})
+    void testIpParsingMatchesRegexp(String ipString) {
+        if (ipString.matches(IP.REGEXP)) {
+            assertEquals(ipString, IP.parse(ipString, 0, ipString.length()).toString());
+        } else {
+            assertThrows(ParseException.class, () -> IP.parse(ipString, 0, ipString.length()));
+        }
+    }
 }
@@ -0,0 +1,164 @@
+package edu.kit.informatik;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static edu.kit.informatik.util.KoeriTestUtils.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MappedNetworkTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void testSameAnswers() throws IOException {
+        for (int id = 0; id < 5; id++) {
+            assertSameAnswers(network(id, "b_random"));
+        }
+        assertSameAnswers(network(MEDIUM_NET));
+    }
+
+    @Test
+    void testForest() throws IOException {
+        Network network = network(MEDIUM_NET);
+        assertTrue(network.disconnect(ip("90.240.18.65"), ip("97.22.140.27")));
+        MappedNetwork mapped = assertSameAnswers(network);
+        assertEquals(List.of(), mapped.getRoute(ip("90.240.18.65"), ip("97.22.140.27")));
+    }
+
+    @Test
+    void testLargeTree() throws IOException {
+        Random random = new Random(13);
+        NetworkBuilder builder = Network.builder();
+        for (int i = 1; i < 50_000; i++) {
+            builder.edge(random.nextInt(i) * 7919, i * 7919);
+        }
+        Network network = builder.build();
+        MappedNetwork mapped = map(network);
+        List<IP> ips = network.list();
+        Map<IP, Integer> heights = network.getHeightsForAllRoots();
+        for (int i = 0; i < 2_000; i++) {
+            IP start = ips.get(random.nextInt(ips.size()));
+            IP end = ips.get(random.nextInt(ips.size()));
+            assertEquals(network.getRoute(start, end), mapped.getRoute(start, end));
+            assertEquals((int) heights.get(start), mapped.getHeight(start));
+        }
+        assertEquals(network.getLevels(ips.get(0)), mapped.getLevels(ips.get(0)));
+    }
+
+    @Test
+    void testMissingNodes() throws IOException {
+        MappedNetwork mapped = map(network(SMALL_NET));
+        assertFalse(mapped.contains(null));
+        assertFalse(mapped.contains(ip("1.1.1.1")));
+        assertEquals(0, mapped.getHeight(ip("1.1.1.1")));
+        assertEquals(List.of(), mapped.getRoute(ip("1.1.1.1"), ip("85.193.148.81")));
+        assertEquals(List.of(), mapped.getRoute(ip("85.193.148.81"), ip("85.193.148.81")));
+        assertEquals(List.of(), mapped.getLevels(null));
+        assertThrows(IllegalArgumentException.class, () -> mapped.getLevels(ip("85.193.148.81"), -1));
+    }
+
+    @Test
+    void testOpenInvalid() throws IOException {
+        Path file = directory.resolve("invalid");
+        Files.write(file, new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16});
+        assertThrows(StreamCorruptedException.class, () -> MappedNetwork.open(file));
+
+        MappedNetwork.write(network(SMALL_NET), file);
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 4));
+        assertThrows(StreamCorruptedException.class, () -> MappedNetwork.open(file));
+    }
+
+    @Test
+    void testOpenCorruptTables() throws IOException {
+        Path file = directory.resolve("corrupt");
+        MappedNetwork.write(network(SMALL_NET), file);
+        byte[] bytes = Files.readAllBytes(file);
+        int nodeCount = ByteBuffer.wrap(bytes).getInt(8);
+        int edgeCount = ByteBuffer.wrap(bytes).getInt(12);
+        int parents = 4 + nodeCount + nodeCount + 1 + 2 * edgeCount;
+
+        // a node made its own parent would loop in getRoute, one out of range would read past the table
+        for (int parent : new int[] {1, nodeCount, -2}) {
+            byte[] corrupt = bytes.clone();
+            ByteBuffer.wrap(corrupt).putInt((parents + 1) * Integer.BYTES, parent);
+            Files.write(file, corrupt);
+            assertThrows(StreamCorruptedException.class, () -> MappedNetwork.open(file));
+        }
+
+        byte[] corrupt = bytes.clone();
+        ByteBuffer.wrap(corrupt).putInt((parents - 1) * Integer.BYTES, nodeCount);
+        Files.write(file, corrupt);
+        assertThrows(StreamCorruptedException.class, () -> MappedNetwork.open(file));
+
+        corrupt = bytes.clone();
+        ByteBuffer.wrap(corrupt).putInt(4 * Integer.BYTES, 0xFFFFFFFF);
+        Files.write(file, corrupt);
+        assertThrows(StreamCorruptedException.class, () -> MappedNetwork.open(file));
+
+        // the first node's first neighbor swapped for a node it is not connected to
+        corrupt = bytes.clone();
+        int neighbors = 4 + nodeCount + nodeCount + 1;
+        int neighbor = ByteBuffer.wrap(bytes).getInt(neighbors * Integer.BYTES);
+        ByteBuffer.wrap(corrupt).putInt(neighbors * Integer.BYTES, neighbor == 1 ? 2 : 1);
+        Files.write(file, corrupt);
+        assertThrows(StreamCorruptedException.class, () -> MappedNetwork.open(file));
+
+        // valid trees, but a triangle and a chain whose last node names its grandparent as neighbor
+        writeInts(file, 3, 3, new int[] {1, 2, 3}, new int[] {0, 2, 4, 6}, new int[] {1, 2, 0, 2, 0, 1},
+            new int[] {-1, 0, 0}, new int[] {0, 1, 1}, new int[] {1, 2, 2});
+        assertThrows(StreamCorruptedException.class, () -> MappedNetwork.open(file));
+        writeInts(file, 4, 3, new int[] {1, 2, 3, 4}, new int[] {0, 1, 3, 5, 6}, new int[] {1, 0, 2, 1, 3, 1},
+            new int[] {-1, 0, 1, 2}, new int[] {0, 1, 2, 3}, new int[] {3, 2, 2, 3});
+        assertThrows(StreamCorruptedException.class, () -> MappedNetwork.open(file));
+
+        Files.write(file, bytes);
+        assertEquals(network(SMALL_NET).list(), MappedNetwork.open(file).list());
+    }
+
+    private static void writeInts(Path file, int nodeCount, int edgeCount, int[]... tables) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate((4 + Arrays.stream(tables).mapToInt(table -> table.length).sum())
+            * Integer.BYTES);
+        buffer.putInt(0x4E45544D).putInt(1).putInt(nodeCount).putInt(edgeCount);
+        for (int[] table : tables) {
+            for (int value : table) {
+                buffer.putInt(value);
+            }
+        }
+        Files.write(file, buffer.array());
+    }
+
+    private MappedNetwork assertSameAnswers(Network network) throws IOException {
+        MappedNetwork mapped = map(network);
+        List<IP> ips = network.list();
+        assertEquals(ips, mapped.list());
+        assertEquals(ips.size(), mapped.size());
+        for (IP start : ips) {
+            assertTrue(mapped.contains(start));
+            assertEquals(network.getHeight(start), mapped.getHeight(start));
+            assertEquals(network.getLevels(start), mapped.getLevels(start));
+            assertEquals(network.getLevels(start, 1), mapped.getLevels(start, 1));
+            for (IP end : ips) {
+                assertEquals(network.getRoute(start, end), mapped.getRoute(start, end));
+            }
+        }
+        return mapped;
+    }
+
+    private MappedNetwork map(Network network) throws IOException {
+        Path file = Files.createTempFile(directory, "network", ".map");
+        MappedNetwork.write(network, file);
+        return MappedNetwork.open(file);
+    }
+}
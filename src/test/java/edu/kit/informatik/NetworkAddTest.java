@@ -1,5 +1,6 @@
 package edu.kit.informatik;
 
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -23,6 +24,16 @@ public class NetworkAddTest {
         assertUnion(network(network1), network(network0), union);
     }
 
+    @Test
+    void testAddJoiningTwoComponents() {
+        // the subnet's new edge 10.0.0.4 - 10.0.0.0 links two separate trees of the network, which is no cycle
+        Network network = network("(10.0.0.1 (10.0.0.4 10.0.0.6))");
+        assertTrue(network.add(network("(10.0.0.5 10.0.0.3 (10.0.0.0 10.0.0.2))")));
+        assertTrue(network.add(network("(10.0.0.4 10.0.0.1 10.0.0.0)")));
+        assertEquals(network("(10.0.0.4 (10.0.0.0 10.0.0.2 (10.0.0.5 10.0.0.3)) 10.0.0.1 10.0.0.6)"), network);
+        assertEquals(7, network.list().size());
+    }
+
     void assertUnion(Network network, Network subnet, Network union) {
         assertTrue(network.add(subnet));
         assertEquals(union, network);
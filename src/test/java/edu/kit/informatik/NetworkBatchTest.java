@@ -0,0 +1,132 @@
+package edu.kit.informatik;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static edu.kit.informatik.util.KoeriTestUtils.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NetworkBatchTest {
+    @Test
+    void testResultsMatchSingleOperations() {
+        Network single = network(MEDIUM_NET);
+        Network batched = network(MEDIUM_NET);
+        List<IP> nodes = single.list();
+        Random random = new Random(9);
+        IP[][] pairs = new IP[2_000][];
+        for (int i = 0; i < pairs.length; i++) {
+            pairs[i] = new IP[] {nodes.get(random.nextInt(nodes.size())), nodes.get(random.nextInt(nodes.size()))};
+        }
+
+        List<Boolean> results = batched.batch(transaction -> {
+            for (int i = 0; i < pairs.length; i++) {
+                if (i % 2 == 0) {
+                    transaction.disconnect(pairs[i][0], pairs[i][1]);
+                } else {
+                    transaction.connect(pairs[i][0], pairs[i][1]);
+                }
+            }
+            transaction.add(network("(1.1.1.1 2.2.2.2)"));
+        });
+
+        for (int i = 0; i < pairs.length; i++) {
+            boolean expected = i % 2 == 0 ? single.disconnect(pairs[i][0], pairs[i][1]) : single.connect(pairs[i][0], pairs[i][1]);
+            assertEquals(expected, results.get(i));
+        }
+        assertEquals(single.add(network("(1.1.1.1 2.2.2.2)")), results.get(pairs.length));
+        assertEquals(single.list(), batched.list());
+        for (IP node : single.list()) {
+            assertEquals(single.toString(node), batched.toString(node));
+        }
+    }
+
+    @Test
+    void testInterleavedOnLargeNetwork() {
+        // a random tree, each round cuts off the subtree of a node and links it back: the component checks
+        // must stay exact after every removal without rebuilding over the whole network each time
+        int size = 200_000;
+        Random random = new Random(21);
+        int[] parents = new int[size];
+        int[] degrees = new int[size];
+        NetworkBuilder builder = Network.builder(size);
+        for (int i = 1; i < size; i++) {
+            parents[i] = random.nextInt(i);
+            degrees[i]++;
+            degrees[parents[i]]++;
+            builder.edge(IP.ofInt(i), IP.ofInt(parents[i]));
+        }
+        Network network = builder.build();
+        List<IP> before = network.list();
+
+        int rounds = 20_000;
+        int[] cut = new int[rounds];
+        for (int round = 0; round < rounds; round++) {
+            do {
+                cut[round] = 1 + random.nextInt(size - 1);
+            } while (degrees[cut[round]] < 2 || degrees[parents[cut[round]]] < 2);
+        }
+        List<Boolean> results = assertTimeoutPreemptively(Duration.ofSeconds(20), () -> network.batch(transaction -> {
+            for (int node : cut) {
+                IP child = IP.ofInt(node);
+                IP parent = IP.ofInt(parents[node]);
+                transaction.disconnect(child, parent);
+                transaction.connect(parent, parent);
+                transaction.connect(child, parent);
+                transaction.connect(child, parent);
+            }
+        }));
+
+        for (int round = 0; round < rounds; round++) {
+            assertEquals(List.of(true, false, true, false), results.subList(round * 4, round * 4 + 4));
+        }
+        assertEquals(before, network.list());
+        assertEquals(List.of(IP.ofInt(cut[0]), IP.ofInt(parents[cut[0]])), network.getRoute(IP.ofInt(cut[0]), IP.ofInt(parents[cut[0]])));
+        assertFalse(network.connect(IP.ofInt(cut[0]), IP.ofInt(0)));
+        assertTrue(network.disconnect(IP.ofInt(cut[0]), IP.ofInt(parents[cut[0]])));
+        assertTrue(network.connect(IP.ofInt(cut[0]), IP.ofInt(parents[cut[0]])));
+    }
+
+    @Test
+    void testRollbackOnException() {
+        Network network = network(MEDIUM_NET);
+        String before = network.toString(ip("90.240.18.65"));
+        assertEquals(4, network.getHeight(ip("90.240.18.65")));
+
+        assertThrows(IllegalStateException.class, () -> network.batch(transaction -> {
+            assertTrue(transaction.disconnect(ip("90.240.18.65"), ip("97.22.140.27")));
+            assertTrue(transaction.add(network("(90.240.18.65 1.1.1.1 (2.2.2.2 3.3.3.3))")));
+            assertTrue(transaction.disconnect(ip("90.240.18.65"), ip("124.214.225.52")));
+            assertTrue(transaction.connect(ip("3.3.3.3"), ip("97.22.140.27")));
+            throw new IllegalStateException("reconciliation failed");
+        }));
+
+        assertEquals(before, network.toString(ip("90.240.18.65")));
+        assertEquals(network(MEDIUM_NET).list(), network.list());
+        assertFalse(network.contains(ip("1.1.1.1")));
+        assertEquals(4, network.getHeight(ip("90.240.18.65")));
+        assertFalse(network.connect(ip("124.214.225.52"), ip("97.22.140.27")));
+    }
+
+    @Test
+    void testAbortAndClosedTransaction() {
+        Network network = network(SMALL_NET);
+        AtomicReference<Network.Transaction> leaked = new AtomicReference<>();
+        List<Boolean> results = network.batch(transaction -> {
+            leaked.set(transaction);
+            transaction.add(network("(1.1.1.1 2.2.2.2)"));
+            transaction.connect(ip("1.1.1.1"), ip("85.193.148.81"));
+            transaction.abort();
+        });
+        assertEquals(List.of(true, true), results);
+        assertEquals(network(SMALL_NET).list(), network.list());
+        assertThrows(IllegalStateException.class, () -> leaked.get().connect(ip("1.1.1.1"), ip("2.2.2.2")));
+
+        assertThrows(IllegalStateException.class, () -> network.batch(outer -> network.batch(inner -> { })));
+        assertEquals(List.of(true), network.batch(transaction -> transaction.add(network("(1.1.1.1 2.2.2.2)"))));
+        assertTrue(network.contains(ip("2.2.2.2")));
+    }
+}
@@ -0,0 +1,66 @@
+package edu.kit.informatik;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static edu.kit.informatik.util.KoeriTestUtils.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NetworkBuilderTest {
+    @Test
+    void testBuildMatchesNotation() {
+        Network expected = network(MEDIUM_NET);
+        NetworkBuilder builder = Network.builder(expected.list().size());
+        for (IP node : expected.list()) {
+            List<List<IP>> levels = expected.getLevels(node, 1);
+            if (levels.size() > 1) {
+                for (IP neighbor : levels.get(1)) {
+                    if (node.compareTo(neighbor) < 0) {
+                        builder.edge(node, neighbor);
+                    }
+                }
+            }
+        }
+        Network network = builder.build();
+        assertEquals(expected, network);
+        assertEquals(expected.list(), network.list());
+        assertEquals(expected.getHeightsForAllRoots(), network.getHeightsForAllRoots());
+    }
+
+    @Test
+    void testInvalidEdges() {
+        assertThrows(IllegalArgumentException.class, () -> Network.builder().build());
+        assertThrows(IllegalArgumentException.class, () -> Network.builder(-1));
+        assertThrows(IllegalArgumentException.class, () -> Network.builder().edge(null, ip("1.1.1.1")));
+        assertThrows(IllegalArgumentException.class, () -> Network.builder().edge(1, 1).build());
+        assertThrows(IllegalArgumentException.class, () -> Network.builder().edge(1, 2).edge(2, 1).build());
+        assertThrows(IllegalArgumentException.class, () -> Network.builder().edge(1, 2).edge(2, 3).edge(3, 1).build());
+    }
+
+    @Test
+    void testForestAndMutations() {
+        Network network = Network.builder()
+            .edge(ip("1.1.1.1"), ip("2.2.2.2"))
+            .edge(ip("3.3.3.3"), ip("4.4.4.4"))
+            .build();
+        assertEquals(List.of(), network.getRoute(ip("1.1.1.1"), ip("4.4.4.4")));
+        assertTrue(network.connect(ip("2.2.2.2"), ip("3.3.3.3")));
+        assertEquals("(1.1.1.1 (2.2.2.2 (3.3.3.3 4.4.4.4)))", network.toString(ip("1.1.1.1")));
+    }
+
+    @Test
+    void testLargeRandomTree() {
+        Random random = new Random(5);
+        int size = 1_000_000;
+        NetworkBuilder builder = Network.builder(size - 1);
+        for (int i = 1; i < size; i++) {
+            builder.edge(0x0A000000 + random.nextInt(i), 0x0A000000 + i);
+        }
+        Network network = builder.build();
+        assertEquals(size, network.list().size());
+        assertEquals(ip("10.0.0.0"), network.list().get(0));
+        assertFalse(network.connect(ip("10.0.0.1"), ip("10.15.66.63")));
+    }
+}
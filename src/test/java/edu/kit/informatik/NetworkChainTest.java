@@ -0,0 +1,79 @@
+package edu.kit.informatik;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NetworkChainTest {
+    // daisy-chained nodes, far deeper than any recursive traversal survives
+    private static final int LENGTH = 1_000_000;
+
+    private static String notation;
+    private static Network chain;
+
+    @BeforeAll
+    static void buildChain() {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < LENGTH - 1; i++) {
+            builder.append('(').append(node(i)).append(' ');
+        }
+        builder.append(node(LENGTH - 1)).append(")".repeat(LENGTH - 1));
+        notation = builder.toString();
+        chain = new Network(notation);
+    }
+
+    private static IP node(int index) {
+        return IP.ofInt(0x0A000000 + index);
+    }
+
+    @Test
+    void testHeight() {
+        assertEquals(LENGTH - 1, chain.getHeight(node(0)));
+        assertEquals(LENGTH / 2, chain.getHeight(node(LENGTH / 2)));
+        Map<IP, Integer> heights = chain.getHeightsForAllRoots();
+        assertEquals(LENGTH, heights.size());
+        assertEquals(LENGTH - 1, heights.get(node(LENGTH - 1)));
+    }
+
+    @Test
+    void testLevels() {
+        List<List<IP>> levels = chain.getLevels(node(0));
+        assertEquals(LENGTH, levels.size());
+        assertEquals(List.of(node(LENGTH - 1)), levels.get(LENGTH - 1));
+    }
+
+    @Test
+    void testRoute() {
+        List<IP> route = chain.getRoute(node(LENGTH - 1), node(0));
+        assertEquals(LENGTH, route.size());
+        for (int i = 0; i < LENGTH; i++) {
+            assertEquals(node(LENGTH - 1 - i), route.get(i));
+        }
+    }
+
+    @Test
+    void testToString() throws IOException {
+        assertEquals(notation, chain.toString(node(0)));
+        StringWriter writer = new StringWriter();
+        chain.toString(node(0), writer);
+        assertEquals(notation, writer.toString());
+        assertEquals(chain, new Network(notation));
+    }
+
+    @Test
+    void testMutations() {
+        Network network = new Network(notation);
+        assertFalse(network.connect(node(0), node(LENGTH - 1)));
+        assertTrue(network.disconnect(node(LENGTH / 2), node(LENGTH / 2 + 1)));
+        assertEquals(List.of(), network.getRoute(node(0), node(LENGTH - 1)));
+        assertTrue(network.connect(node(0), node(LENGTH - 1)));
+        assertEquals(LENGTH - 1, network.getHeight(node(LENGTH / 2)));
+        assertEquals(LENGTH, network.getRoute(node(LENGTH / 2), node(LENGTH / 2 + 1)).size());
+    }
+}
@@ -0,0 +1,68 @@
+package edu.kit.informatik;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NetworkConnectTest {
+    @Test
+    void testConnectAndDisconnectAgainstReachability() {
+        Random random = new Random(11);
+        List<IP> ips = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            ips.add(IP.ofInt(0x0A000000 + i));
+        }
+        // pairs of nodes, so every node stays in the network while the pairs get joined and split again
+        Network network = new Network(ips.get(0), List.of(ips.get(1)));
+        Set<List<IP>> edges = new HashSet<>();
+        edges.add(List.of(ips.get(0), ips.get(1)));
+        for (int i = 2; i < ips.size(); i += 2) {
+            assertTrue(network.add(new Network(ips.get(i), List.of(ips.get(i + 1)))));
+            edges.add(List.of(ips.get(i), ips.get(i + 1)));
+        }
+
+        for (int step = 0; step < 5_000; step++) {
+            IP start = ips.get(random.nextInt(ips.size()));
+            IP end = ips.get(random.nextInt(ips.size()));
+            if (random.nextBoolean()) {
+                boolean expected = !start.equals(end) && !reachable(edges, start, end);
+                assertEquals(expected, network.connect(start, end));
+                if (expected) {
+                    edges.add(List.of(start, end));
+                }
+            } else if (!edges.contains(List.of(start, end)) && !edges.contains(List.of(end, start))) {
+                assertFalse(network.disconnect(start, end));
+            } else if (degree(edges, start) > 1 && degree(edges, end) > 1) {
+                assertTrue(network.disconnect(start, end));
+                edges.remove(List.of(start, end));
+                edges.remove(List.of(end, start));
+            }
+        }
+    }
+
+    private static boolean reachable(Set<List<IP>> edges, IP start, IP end) {
+        Set<IP> visited = new HashSet<>(List.of(start));
+        ArrayDeque<IP> queue = new ArrayDeque<>(List.of(start));
+        while (!queue.isEmpty()) {
+            IP node = queue.poll();
+            for (List<IP> edge : edges) {
+                int index = edge.indexOf(node);
+                if (index >= 0 && visited.add(edge.get(1 - index))) {
+                    queue.add(edge.get(1 - index));
+                }
+            }
+        }
+        return visited.contains(end);
+    }
+
+    private static long degree(Set<List<IP>> edges, IP node) {
+        return edges.stream().filter(edge -> edge.contains(node)).count();
+    }
+}
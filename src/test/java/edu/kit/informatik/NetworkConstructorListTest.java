@@ -13,6 +13,7 @@ import static edu.kit.informatik.util.KoeriTestUtils.ip;
 import static edu.kit.informatik.util.KoeriTestUtils.ips;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
 
 public class NetworkConstructorListTest {
@@ -32,6 +33,14 @@ public class NetworkConstructorListTest {
         assertEquals(3, network.list().size());
     }
 
+    @Test
+    void testDisconnectChild() {
+        Network network = new Network(ip("178.132.155.48"), ips("12.246.77.82", "181.16.150.157"));
+        assertTrue(network.disconnect(ip("12.246.77.82"), ip("178.132.155.48")));
+        assertEquals("(178.132.155.48 181.16.150.157)", network.toString(ip("178.132.155.48")));
+        assertEquals(ips("178.132.155.48", "181.16.150.157"), network.list());
+    }
+
     static List<Arguments> invalidArgsProvider() {
         IP root = ip("192.168.178.65");
         IP other = ip("13.45.198.56");
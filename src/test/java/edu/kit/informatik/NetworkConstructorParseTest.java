@@ -1,10 +1,14 @@
 package edu.kit.informatik;
 
 import edu.kit.informatik.util.LinesSource;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.ValueSource;
 
+import static edu.kit.informatik.util.KoeriTestUtils.ips;
 import static edu.kit.informatik.util.KoeriTestUtils.network;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public class NetworkConstructorParseTest {
@@ -20,4 +24,38 @@ public class NetworkConstructorParseTest {
     void testValidArgs(String bracketNotation) {
         network(bracketNotation);
     }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "(0.0.0.0 1(2.2.2.2 3.3.3.3))",
+        "(0.0.0.0 (2.2.2.2 3.3.3.3)1)",
+        "(0.0.0.0 (2.2.2.2 3.3.3.3) )",
+        "(0.0.0.0\n1.1.1.1)",
+        "(0.0.0.0 1.1.1.1)(2.2.2.2 3.3.3.3)"
+    })
+    void testInvalidGroupBoundaries(String bracketNotation) {
+        assertThrows(ParseException.class, () -> new Network(bracketNotation));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"(0.0.0.0\t1.1.1.1)", "(0.0.0.0\f1.1.1.1)", "(0.0.0.0\u000B1.1.1.1)"})
+    void testSingleWhitespaceSeparators(String bracketNotation) {
+        assertEquals(ips("0.0.0.0", "1.1.1.1"), network(bracketNotation).list());
+    }
+
+    @Test
+    void testLargeNetwork() {
+        // 200k nodes: a chain of groups, each holding 15 leaves and the next group
+        StringBuilder notation = new StringBuilder();
+        int groups = 200_000 / 16;
+        for (int group = 0; group < groups; group++) {
+            notation.append('(').append(IP.ofInt(group << 4));
+            for (int leaf = 1; leaf < 16; leaf++) {
+                notation.append(' ').append(IP.ofInt(group << 4 | leaf));
+            }
+            notation.append(group + 1 < groups ? " " : "");
+        }
+        notation.append(")".repeat(groups));
+        assertEquals(groups * 16, network(notation.toString()).list().size());
+    }
 }
@@ -0,0 +1,90 @@
+package edu.kit.informatik;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
+import static edu.kit.informatik.util.KoeriTestUtils.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NetworkEdgeListTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void testRoundTrip() throws IOException {
+        for (int id = 0; id < 5; id++) {
+            Network network = network(id, "a_random");
+            Path file = directory.resolve("edges" + id);
+            network.writeEdgeList(file);
+            assertEquals(network, Network.fromEdgeList(file));
+            assertEquals(network.list(), Network.fromEdgeList(file).list());
+        }
+    }
+
+    @Test
+    void testWriteParentsFirst() throws IOException {
+        Path file = directory.resolve("edges");
+        network("(1.1.1.1 (3.3.3.3 4.4.4.4) 2.2.2.2)").writeEdgeList(file);
+        assertEquals(List.of("1.1.1.1,2.2.2.2", "1.1.1.1,3.3.3.3", "3.3.3.3,4.4.4.4"), Files.readAllLines(file));
+    }
+
+    @Test
+    void testReadForeignFormatting() throws IOException {
+        Path file = write("parent,child\r\n85.193.148.81,141.255.1.133\r\n\r\n141.255.1.133,122.117.67.158\r\n"
+            + "141.255.1.133,0.146.197.108\n85.193.148.81,34.49.145.239\n85.193.148.81,231.189.0.127\n"
+            + "231.189.0.127,77.135.84.171\n231.189.0.127,39.20.222.120\n231.189.0.127,252.29.23.0\n"
+            + "116.132.83.77,231.189.0.127");
+        assertEquals(network(SMALL_NET), Network.fromEdgeList(file));
+    }
+
+    @Test
+    void testReadLarge() throws IOException {
+        // far more than one read buffer, lines cross its boundaries
+        Random random = new Random(17);
+        StringBuilder text = new StringBuilder();
+        NetworkBuilder builder = Network.builder();
+        for (int i = 1; i < 30_000; i++) {
+            IP parent = IP.ofInt(0xC0000000 | random.nextInt(i));
+            IP child = IP.ofInt(0xC0000000 | i);
+            text.append(parent).append(',').append(child).append('\n');
+            builder.edge(parent, child);
+        }
+        Network expected = builder.build();
+        Network network = Network.fromEdgeList(write(text.toString()));
+        assertEquals(expected.list(), network.list());
+        assertEquals(expected.toString(ip("192.0.0.0")), network.toString(ip("192.0.0.0")));
+    }
+
+    @Test
+    void testReadInvalid() throws IOException {
+        assertEquals("Invalid edge list at line 2, invalid IP '2.2.2.256'",
+            assertThrows(ParseException.class, () -> Network.fromEdgeList(write("1.1.1.1,2.2.2.2\n2.2.2.2,2.2.2.256\n")))
+                .getMessage());
+        assertThrows(ParseException.class, () -> Network.fromEdgeList(write("1.1.1.1 2.2.2.2\n")));
+        assertThrows(ParseException.class, () -> Network.fromEdgeList(write("1.1.1.1, 2.2.2.2\n")));
+        assertThrows(ParseException.class, () -> Network.fromEdgeList(write("child,parent\n1.1.1.1,2.2.2.2\n")));
+        assertThrows(ParseException.class, () -> Network.fromEdgeList(write("")));
+        assertEquals("Invalid edge list at line 3, edge 1.1.1.1 - 1.1.1.1 is a loop, a duplicate or closes a cycle",
+            assertThrows(ParseException.class, () -> Network.fromEdgeList(write("parent,child\n1.1.1.1,2.2.2.2\n1.1.1.1,1.1.1.1\n")))
+                .getMessage());
+        assertEquals("Invalid edge list at line 4, edge 3.3.3.3 - 1.1.1.1 is a loop, a duplicate or closes a cycle",
+            assertThrows(ParseException.class,
+                () -> Network.fromEdgeList(write("1.1.1.1,2.2.2.2\n2.2.2.2,3.3.3.3\n\n3.3.3.3,1.1.1.1\n"))).getMessage());
+        assertThrows(ParseException.class, () -> Network.fromEdgeList(write("1.1.1.1,2.2.2.2\n2.2.2.2,1.1.1.1\n")));
+        assertThrows(ParseException.class,
+            () -> Network.fromEdgeList(write("1.1.1.1,2.2.2.2\n2.2.2.2,3.3.3.3\n3.3.3.3,1.1.1.1\n")));
+        assertThrows(ParseException.class, () -> Network.fromEdgeList(write("1".repeat(1 << 17))));
+        assertThrows(IOException.class, () -> Network.fromEdgeList(directory.resolve("missing")));
+    }
+
+    private Path write(String text) throws IOException {
+        return Files.write(Files.createTempFile(directory, "edges", ".csv"), text.getBytes(StandardCharsets.US_ASCII));
+    }
+}
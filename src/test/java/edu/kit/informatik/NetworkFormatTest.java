@@ -0,0 +1,120 @@
+package edu.kit.informatik;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.zip.CRC32;
+
+import static edu.kit.informatik.util.KoeriTestUtils.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NetworkFormatTest {
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void testRoundTrip(boolean deflate) throws IOException {
+        for (int id = 0; id < 5; id++) {
+            Network network = network(id, "a_random");
+            Network read = read(write(network, deflate));
+            assertEquals(network.list(), read.list());
+            for (IP ip : network.list()) {
+                assertEquals(network.toString(ip), read.toString(ip));
+            }
+        }
+    }
+
+    @Test
+    void testRoundTripForest() throws IOException {
+        Network network = network(MEDIUM_NET);
+        assertTrue(network.disconnect(ip("90.240.18.65"), ip("97.22.140.27")));
+        Network read = read(write(network, true));
+        assertEquals(network.list(), read.list());
+        assertEquals(network.getRoute(ip("90.240.18.65"), ip("97.22.140.27")),
+            read.getRoute(ip("90.240.18.65"), ip("97.22.140.27")));
+        assertTrue(read.connect(ip("90.240.18.65"), ip("97.22.140.27")));
+        assertEquals(network(MEDIUM_NET), read);
+    }
+
+    @Test
+    void testRoundTripLarge() throws IOException {
+        Random random = new Random(11);
+        NetworkBuilder builder = Network.builder();
+        for (int i = 1; i < 100_000; i++) {
+            builder.edge(random.nextInt(), i);
+        }
+        Network network = builder.build();
+        byte[] plain = write(network, false);
+        byte[] deflated = write(network, true);
+        assertTrue(deflated.length < plain.length);
+        assertEquals(network.list(), read(plain).list());
+        assertEquals(network.list(), read(deflated).list());
+        assertEquals(network.getHeightsForAllRoots(), read(deflated).getHeightsForAllRoots());
+    }
+
+    @Test
+    void testReadStopsAfterNetwork() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        network(SMALL_NET).writeTo(Channels.newChannel(out), true);
+        network(MEDIUM_NET).writeTo(Channels.newChannel(out));
+        ReadableByteChannel channel = Channels.newChannel(new ByteArrayInputStream(out.toByteArray()));
+        assertEquals(network(SMALL_NET).list(), Network.readFrom(channel).list());
+        assertEquals(network(MEDIUM_NET).list(), Network.readFrom(channel).list());
+    }
+
+    @Test
+    void testReadCorrupt() throws IOException {
+        byte[] bytes = write(network(MEDIUM_NET), false);
+        assertThrows(EOFException.class, () -> read(Arrays.copyOf(bytes, bytes.length - 1)));
+        assertThrows(EOFException.class, () -> read(new byte[0]));
+
+        byte[] flipped = bytes.clone();
+        flipped[flipped.length - 3] ^= 1;
+        assertThrows(StreamCorruptedException.class, () -> read(flipped));
+
+        byte[] magic = bytes.clone();
+        magic[0] = 0;
+        assertThrows(StreamCorruptedException.class, () -> read(magic));
+
+        // a valid checksum over an edge list holding the first edge twice
+        byte[] cycle = bytes.clone();
+        ByteBuffer buffer = ByteBuffer.wrap(cycle);
+        int nodes = buffer.getInt(8);
+        int edges = buffer.getInt(12);
+        buffer.putInt(24 + nodes * 4 + 4, buffer.getInt(24 + nodes * 4));
+        buffer.putInt(24 + (nodes + edges) * 4 + 4, buffer.getInt(24 + (nodes + edges) * 4));
+        CRC32 crc = new CRC32();
+        crc.update(cycle, 24, cycle.length - 24);
+        buffer.putInt(20, (int) crc.getValue());
+        assertThrows(StreamCorruptedException.class, () -> read(cycle));
+    }
+
+    @Test
+    void testSnapshotWriteTo() throws IOException {
+        Network network = network(SMALL_NET);
+        NetworkSnapshot snapshot = network.snapshot();
+        assertTrue(network.disconnect(ip("85.193.148.81"), ip("34.49.145.239")));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        snapshot.writeTo(Channels.newChannel(out));
+        assertEquals(network(SMALL_NET).list(), read(out.toByteArray()).list());
+    }
+
+    private static byte[] write(Network network, boolean deflate) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        network.writeTo(Channels.newChannel(out), deflate);
+        return out.toByteArray();
+    }
+
+    private static Network read(byte[] bytes) throws IOException {
+        return Network.readFrom(Channels.newChannel(new ByteArrayInputStream(bytes)));
+    }
+}
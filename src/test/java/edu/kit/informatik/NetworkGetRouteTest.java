@@ -1,17 +1,21 @@
 package edu.kit.informatik;
 
 import edu.kit.informatik.util.KoeriTestUtils;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static edu.kit.informatik.util.KoeriTestUtils.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
 
 public class NetworkGetRouteTest {
@@ -28,6 +32,61 @@ public class NetworkGetRouteTest {
         assertEquals(List.of(), network.getRoute(start, end));
     }
 
+    @Test
+    void testRandomTreeRoutes() {
+        Random random = new Random(3);
+        List<IP> ips = new ArrayList<>();
+        ips.add(IP.ofInt(random.nextInt()));
+        Network network = null;
+        for (int i = 1; i < 2_000; i++) {
+            IP parent = ips.get(random.nextInt(ips.size()));
+            IP child = IP.ofInt(random.nextInt());
+            if (ips.contains(child)) {
+                continue;
+            }
+            ips.add(child);
+            if (network == null) {
+                network = new Network(parent, List.of(child));
+            } else {
+                assertTrue(network.add(new Network(parent, List.of(child))));
+            }
+        }
+
+        for (int query = 0; query < 500; query++) {
+            IP start = ips.get(random.nextInt(ips.size()));
+            IP end = ips.get(random.nextInt(ips.size()));
+            List<IP> route = network.getRoute(start, end);
+            if (start.equals(end)) {
+                assertEquals(List.of(), route);
+                continue;
+            }
+            // a route in a tree is the unique shortest path
+            List<List<IP>> levels = network.getLevels(start);
+            int distance = 0;
+            while (!levels.get(distance).contains(end)) {
+                distance++;
+            }
+            assertEquals(distance + 1, route.size());
+            assertEquals(start, route.get(0));
+            assertEquals(end, route.get(route.size() - 1));
+            for (int i = 1; i < route.size(); i++) {
+                assertTrue(network.getLevels(route.get(i - 1)).get(1).contains(route.get(i)));
+            }
+        }
+    }
+
+    @Test
+    void testRouteAfterMutations() {
+        Network network = network(SMALL_NET);
+        assertEquals(ips("77.135.84.171", "231.189.0.127", "85.193.148.81", "141.255.1.133"),
+            network.getRoute(ip("77.135.84.171"), ip("141.255.1.133")));
+        assertTrue(network.disconnect(ip("231.189.0.127"), ip("85.193.148.81")));
+        assertEquals(List.of(), network.getRoute(ip("77.135.84.171"), ip("141.255.1.133")));
+        assertTrue(network.connect(ip("77.135.84.171"), ip("141.255.1.133")));
+        assertEquals(ips("231.189.0.127", "77.135.84.171", "141.255.1.133", "85.193.148.81"),
+            network.getRoute(ip("231.189.0.127"), ip("85.193.148.81")));
+    }
+
     static Stream<Arguments> validArgsProvider() {
         Network network = network(SMALL_NET);
         return Stream.of(
@@ -0,0 +1,75 @@
+package edu.kit.informatik;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+import static edu.kit.informatik.util.KoeriTestUtils.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NetworkGetRoutesTest {
+    @Test
+    void testRoutesMatchGetRoute() {
+        Network network = network(MEDIUM_NET);
+        List<IP> ips = new ArrayList<>(network.list());
+        ips.add(ip("1.2.3.4"));
+        ips.add(null);
+        List<Map.Entry<IP, IP>> pairs = new ArrayList<>();
+        for (IP start : ips) {
+            for (IP end : ips) {
+                pairs.add(new AbstractMap.SimpleEntry<>(start, end));
+            }
+        }
+
+        List<List<IP>> expected = pairs.stream()
+            .map(pair -> network.getRoute(pair.getKey(), pair.getValue()))
+            .collect(Collectors.toList());
+        ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            assertEquals(expected, network.getRoutes(pairs, pool));
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(expected, network.getRoutes(pairs));
+        assertEquals(expected, network.getRoutes(pairs.stream()).collect(Collectors.toList()));
+        assertEquals(expected, network.getRoutes(pairs.parallelStream()).collect(Collectors.toList()));
+    }
+
+    @Test
+    void testRoutesInLargeTree() {
+        Random random = new Random(5);
+        NetworkBuilder builder = Network.builder();
+        for (int i = 1; i < 20_000; i++) {
+            builder.edge(random.nextInt(i), i);
+        }
+        Network network = builder.build();
+        List<IP> ips = network.list();
+        List<Map.Entry<IP, IP>> pairs = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            pairs.add(Map.entry(ips.get(random.nextInt(ips.size())), ips.get(random.nextInt(ips.size()))));
+        }
+
+        List<List<IP>> routes = network.getRoutes(pairs);
+        assertEquals(pairs.size(), routes.size());
+        for (int i = 0; i < pairs.size(); i += 97) {
+            assertEquals(network.getRoute(pairs.get(i).getKey(), pairs.get(i).getValue()), routes.get(i));
+        }
+        assertThrows(UnsupportedOperationException.class, () -> routes.set(0, List.of()));
+    }
+
+    @Test
+    void testRoutesAfterChange() {
+        Network network = network(SMALL_NET);
+        List<Map.Entry<IP, IP>> pairs = List.of(Map.entry(ip("85.193.148.81"), ip("141.255.1.133")));
+        assertEquals(List.of(ips("85.193.148.81", "141.255.1.133")), network.getRoutes(pairs));
+        assertTrue(network.disconnect(ip("85.193.148.81"), ip("141.255.1.133")));
+        assertEquals(List.of(List.of()), network.getRoutes(pairs));
+        assertEquals(List.of(), network.getRoutes(List.<Map.Entry<IP, IP>>of()));
+    }
+}
@@ -0,0 +1,38 @@
+package edu.kit.informatik;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Map;
+
+import static edu.kit.informatik.util.KoeriTestUtils.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NetworkHeightTest {
+    @ParameterizedTest
+    @ValueSource(strings = {"a_sorted", "b_random"})
+    void testHeightsForAllRoots(String file) {
+        for (int id = 0; id < 5; id++) {
+            Network network = network(singleLine("network/" + id + "/" + file));
+            assertHeights(network);
+        }
+    }
+
+    @Test
+    void testHeightsAcrossComponents() {
+        Network network = network(MEDIUM_NET);
+        assertTrue(network.add(network("(1.1.1.1 2.2.2.2 (3.3.3.3 4.4.4.4))")));
+        assertTrue(network.disconnect(ip("90.240.18.65"), ip("118.255.66.35")));
+        assertHeights(network);
+        assertEquals(3, network.getHeightsForAllRoots().get(ip("4.4.4.4")));
+    }
+
+    private static void assertHeights(Network network) {
+        Map<IP, Integer> heights = network.getHeightsForAllRoots();
+        assertEquals(network.list().size(), heights.size());
+        for (IP ip : network.list()) {
+            assertEquals(network.getHeight(ip), heights.get(ip), ip.toString());
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package edu.kit.informatik;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static edu.kit.informatik.util.KoeriTestUtils.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NetworkLevelsTest {
+    @Test
+    void testMaxDepthIsPrefix() {
+        Network network = network(MEDIUM_NET);
+        for (IP root : network.list()) {
+            List<List<IP>> levels = network.getLevels(root);
+            for (int depth = 0; depth <= levels.size() + 1; depth++) {
+                assertEquals(levels.subList(0, Math.min(depth + 1, levels.size())), network.getLevels(root, depth));
+            }
+        }
+        assertEquals(List.of(), network.getLevels(ip("0.0.0.0"), 3));
+        assertThrows(IllegalArgumentException.class, () -> network.getLevels(ip("90.240.18.65"), -1));
+    }
+
+    @Test
+    void testWideTree() {
+        // a root with groups of many leaves, every level is wide
+        List<IP> groups = new ArrayList<>();
+        for (int i = 1; i <= 500; i++) {
+            groups.add(IP.ofInt(0x0A000000 + i));
+        }
+        Network network = new Network(IP.ofInt(0x0A000000), groups);
+        for (int i = 0; i < groups.size(); i++) {
+            List<IP> leaves = new ArrayList<>();
+            for (int j = 0; j < 400; j++) {
+                leaves.add(IP.ofInt(0x0B000000 + i * 400 + j));
+            }
+            assertTrue(network.add(new Network(groups.get(i), leaves)));
+        }
+
+        List<List<IP>> levels = network.getLevels(IP.ofInt(0x0A000000));
+        assertEquals(3, levels.size());
+        assertEquals(groups, levels.get(1));
+        assertEquals(200_000, levels.get(2).size());
+        assertEquals(IP.ofInt(0x0B000000), levels.get(2).get(0));
+        assertEquals(2, network.getLevels(IP.ofInt(0x0A000000), 1).size());
+    }
+
+    @Test
+    void testLazyAndFlatLevels() {
+        Network network = network(MEDIUM_NET);
+        for (IP root : network.list()) {
+            List<List<IP>> levels = network.getLevels(root);
+            assertEquals(levels, network.levels(root).collect(Collectors.toList()));
+            assertEquals(levels.subList(0, 2), network.levels(root).limit(2).collect(Collectors.toList()));
+
+            Network.Levels flat = network.flatLevels(root);
+            assertEquals(levels.size(), flat.count());
+            assertEquals(network.list().size(), flat.addresses().length);
+            for (int i = 0; i < flat.count(); i++) {
+                assertEquals(levels.get(i), flat.level(i));
+                assertEquals(levels.get(i).size(), flat.offsets()[i + 1] - flat.offsets()[i]);
+            }
+        }
+
+        assertEquals(0, network.levels(ip("0.0.0.0")).count());
+        assertEquals(0, network.flatLevels(null).count());
+    }
+
+    @Test
+    void testLevelsFailFast() {
+        Network network = network(MEDIUM_NET);
+        Iterator<List<IP>> levels = network.levels(ip("90.240.18.65")).iterator();
+        assertEquals(List.of(ip("90.240.18.65")), levels.next());
+        assertTrue(network.disconnect(ip("90.240.18.65"), ip("124.214.225.52")));
+        assertThrows(ConcurrentModificationException.class, levels::next);
+    }
+}
@@ -14,6 +14,7 @@ import java.util.stream.Stream;
 
 import static edu.kit.informatik.util.KoeriTestUtils.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
 
 public class NetworkListTest {
@@ -36,6 +37,26 @@ public class NetworkListTest {
         assertEquals(original, network);
     }
 
+    @Test
+    void testListFollowsMutations() {
+        Network network = network("(0.0.0.0 (1.1.1.1 2.2.2.2) 3.3.3.3)");
+        List<IP> before = network.list();
+
+        assertTrue(network.add(network("(3.3.3.3 4.4.4.4 0.0.0.1)")));
+        assertEquals(ips("0.0.0.0", "0.0.0.1", "1.1.1.1", "2.2.2.2", "3.3.3.3", "4.4.4.4"), network.list());
+        assertTrue(network.disconnect(ip("1.1.1.1"), ip("2.2.2.2")));
+        assertEquals(ips("0.0.0.0", "0.0.0.1", "1.1.1.1", "3.3.3.3", "4.4.4.4"), network.list());
+        assertTrue(network.add(network("(2.2.2.2 1.1.1.1)")));
+        assertTrue(network.disconnect(ip("3.3.3.3"), ip("0.0.0.1")));
+        assertEquals(ips("0.0.0.0", "1.1.1.1", "2.2.2.2", "3.3.3.3", "4.4.4.4"), network.list());
+
+        // earlier results are snapshots
+        assertEquals(ips("0.0.0.0", "1.1.1.1", "2.2.2.2", "3.3.3.3"), before);
+        for (IP ip : network.list()) {
+            assertTrue(network.contains(ip));
+        }
+    }
+
     void tryModify(Runnable action) {
         try {
             action.run();
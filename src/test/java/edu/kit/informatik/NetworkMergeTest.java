@@ -0,0 +1,58 @@
+package edu.kit.informatik;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static edu.kit.informatik.util.KoeriTestUtils.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NetworkMergeTest {
+    @Test
+    void testRejectedSubnetsLeaveNetworkUnchanged() {
+        Network network = network(SMALL_NET);
+        String before = network.toString(ip("85.193.148.81"));
+        // closes a cycle through existing nodes
+        assertFalse(network.add(network("(141.255.1.133 1.1.1.1 39.20.222.120)")));
+        // only edges that are there already
+        assertFalse(network.add(network("(85.193.148.81 141.255.1.133 231.189.0.127)")));
+        assertFalse(network.add(network));
+        assertFalse(network.add(null));
+        assertEquals(before, network.toString(ip("85.193.148.81")));
+        assertFalse(network.contains(ip("1.1.1.1")));
+    }
+
+    @Test
+    void testOnlySharedSubnetComponentsAreMerged() {
+        Network subnet = network("(1.1.1.1 2.2.2.2 (3.3.3.3 4.4.4.4 5.5.5.5))");
+        assertTrue(subnet.disconnect(ip("1.1.1.1"), ip("3.3.3.3")));
+
+        Network network = network("(5.5.5.5 6.6.6.6 7.7.7.7)");
+        assertTrue(network.add(subnet));
+        assertTrue(network.contains(ip("4.4.4.4")));
+        assertFalse(network.contains(ip("1.1.1.1")));
+
+        // without a shared node the component holding the lowest IP is taken
+        Network separate = network("(8.8.8.8 9.9.9.9)");
+        assertTrue(separate.add(subnet));
+        assertTrue(separate.contains(ip("1.1.1.1")));
+        assertFalse(separate.contains(ip("3.3.3.3")));
+    }
+
+    @Test
+    void testManySmallSubnets() {
+        // a chain of stars, each subnet hooks a new star onto the previous one
+        Network network = new Network(IP.ofInt(0x0A000000), List.of(IP.ofInt(0x0A000001)));
+        for (int i = 1; i <= 20_000; i++) {
+            List<IP> children = new ArrayList<>();
+            children.add(IP.ofInt(0x0A000000 + (i - 1) * 8));
+            for (int j = 1; j < 8; j++) {
+                children.add(IP.ofInt(0x0A000000 + i * 8 + j));
+            }
+            assertTrue(network.add(new Network(IP.ofInt(0x0A000000 + i * 8), children)));
+        }
+        assertEquals(20_001 * 8 - 6, network.list().size());
+        assertEquals(ips("10.0.0.0", "10.0.0.8", "10.0.0.16"), network.getRoute(ip("10.0.0.0"), ip("10.0.0.16")));
+    }
+}
@@ -0,0 +1,103 @@
+package edu.kit.informatik;
+
+import edu.kit.informatik.util.LinesSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static edu.kit.informatik.util.KoeriTestUtils.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NetworkParallelParseTest {
+    private static ForkJoinPool pool;
+
+    @BeforeAll
+    static void startPool() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterAll
+    static void stopPool() {
+        pool.shutdown();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"a_sorted", "a_random", "b_sorted", "b_random"})
+    void testParseResources(String file) {
+        for (int id = 0; id < 5; id++) {
+            String notation = singleLine("network/" + id + "/" + file);
+            Network network = assertDoesNotThrow(() -> Network.parse(notation, pool));
+            assertEquals(network(notation), network);
+            assertEquals(network(notation).list(), network.list());
+        }
+    }
+
+    @ParameterizedTest
+    @LinesSource("network/valid")
+    void testParseValid(String bracketNotation) {
+        Network network = assertDoesNotThrow(() -> Network.parse(bracketNotation, pool));
+        assertEquals(network(bracketNotation).list(), network.list());
+        for (IP ip : network.list()) {
+            assertEquals(network(bracketNotation).toString(ip), network.toString(ip));
+        }
+    }
+
+    @ParameterizedTest
+    @LinesSource("network/invalid")
+    void testParseInvalid(String bracketNotation) {
+        assertSameError(bracketNotation);
+    }
+
+    @Test
+    void testParseDuplicates() {
+        // across groups, between a group and a leaf of the root, and of the root itself
+        assertSameError("(1.1.1.1 (2.2.2.2 3.3.3.3) (4.4.4.4 3.3.3.3))");
+        assertSameError("(1.1.1.1 5.5.5.5 (2.2.2.2 3.3.3.3) (4.4.4.4 5.5.5.5))");
+        assertSameError("(1.1.1.1 (2.2.2.2 3.3.3.3) 3.3.3.3)");
+        assertSameError("(1.1.1.1 (2.2.2.2 (3.3.3.3 1.1.1.1)))");
+        assertSameError("(1.1.1.1 (2.2.2.2 3.3.3.3)(4.4.4.4 5.5.5.5))");
+        assertSameError("(1.1.1.1 (2.2.2.2 3.3.3.3) )");
+        assertSameError("(1.1.1.1 (2.2.2.2 3.3.3.3)) ");
+    }
+
+    @Test
+    void testParseNull() {
+        assertThrows(ParseException.class, () -> Network.parse(null, pool));
+    }
+
+    @Test
+    void testParseLarge() {
+        // many groups below the root, mixed with leaves, so they are spread over several runs
+        StringBuilder builder = new StringBuilder("(0.0.0.1");
+        int address = 0x0A000000;
+        for (int group = 0; group < 20_000; group++) {
+            builder.append(' ').append(IP.ofInt(address++));
+            builder.append(" (").append(IP.ofInt(address++));
+            for (int child = 0; child < 3; child++) {
+                builder.append(" (").append(IP.ofInt(address++)).append(' ').append(IP.ofInt(address++)).append(')');
+            }
+            builder.append(')');
+        }
+        String notation = builder.append(')').toString();
+
+        Network network = assertDoesNotThrow(() -> Network.parse(notation, pool));
+        Network expected = network(notation);
+        assertEquals(expected.list(), network.list());
+        assertEquals(expected.toString(ip("0.0.0.1")), network.toString(ip("0.0.0.1")));
+        assertEquals(expected.getRoute(ip("10.0.0.3"), IP.ofInt(address - 1)),
+            network.getRoute(ip("10.0.0.3"), IP.ofInt(address - 1)));
+
+        String duplicate = notation.substring(0, notation.length() - 1) + " 10.0.0.5)";
+        assertSameError(duplicate);
+    }
+
+    private static void assertSameError(String bracketNotation) {
+        ParseException expected = assertThrows(ParseException.class, () -> new Network(bracketNotation));
+        ParseException actual = assertThrows(ParseException.class, () -> Network.parse(bracketNotation, pool));
+        assertEquals(expected.getMessage(), actual.getMessage());
+    }
+}
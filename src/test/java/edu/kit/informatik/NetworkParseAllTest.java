@@ -0,0 +1,89 @@
+package edu.kit.informatik;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static edu.kit.informatik.util.KoeriTestUtils.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NetworkParseAllTest {
+    @Test
+    void testParseAllInOrder() {
+        List<String> lines = Stream.concat(lines("network/valid"), lines("network/invalid")).collect(Collectors.toList());
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Network.ParseResult> results = Network.parseAll(lines.stream(), executor);
+            assertEquals(lines.size(), results.size());
+            for (int i = 0; i < lines.size(); i++) {
+                Network.ParseResult result = results.get(i);
+                assertEquals(i, result.line());
+                String line = lines.get(i);
+                try {
+                    Network expected = new Network(line);
+                    assertTrue(result.isValid());
+                    assertNull(result.error());
+                    assertEquals(expected.list(), result.network().list());
+                } catch (ParseException e) {
+                    assertFalse(result.isValid());
+                    assertNull(result.network());
+                    assertEquals(e.getMessage(), result.error().getMessage());
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testParseAllManyLines(@TempDir Path directory) throws IOException {
+        // more lines than one batch holds, every hundredth one broken
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            String line = "(" + IP.ofInt(i) + " " + IP.ofInt(i + 1) + " " + IP.ofInt(i + 2) + ")";
+            lines.add(i % 100 == 7 ? line.substring(1) : line);
+        }
+        Path file = Files.write(directory.resolve("networks"), lines);
+
+        List<Network.ParseResult> results = Network.parseAll(file);
+        assertEquals(lines.size(), results.size());
+        for (int i = 0; i < lines.size(); i++) {
+            assertEquals(i, results.get(i).line());
+            assertEquals(i % 100 != 7, results.get(i).isValid());
+            if (results.get(i).isValid()) {
+                assertEquals(List.of(IP.ofInt(i), IP.ofInt(i + 1), IP.ofInt(i + 2)), results.get(i).network().list());
+            }
+        }
+    }
+
+    @Test
+    void testParseAllNonAscii(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("networks");
+        Files.write(file, ("(1.1.1.1 2.2.2.2)\n(1.1.1.1 2.2.2.\u00e9)\n(3.3.3.3 4.4.4.4)\n")
+            .getBytes(StandardCharsets.UTF_8));
+
+        List<Network.ParseResult> results = Network.parseAll(file);
+        assertEquals(3, results.size());
+        assertTrue(results.get(0).isValid());
+        assertFalse(results.get(1).isValid());
+        assertNotNull(results.get(1).error());
+        assertEquals(ips("3.3.3.3", "4.4.4.4"), results.get(2).network().list());
+    }
+
+    @Test
+    void testParseAllEmpty() throws IOException {
+        assertEquals(List.of(), Network.parseAll(Stream.empty()));
+        assertThrows(NoSuchFileException.class, () -> Network.parseAll(Path.of("no/such/file")));
+    }
+}
@@ -0,0 +1,92 @@
+package edu.kit.informatik;
+
+import edu.kit.informatik.util.LinesSource;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+import static edu.kit.informatik.util.KoeriTestUtils.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NetworkParseTest {
+    @ParameterizedTest
+    @ValueSource(strings = {"a_sorted", "a_random", "b_sorted", "b_random"})
+    void testParseReader(String file) {
+        for (int id = 0; id < 5; id++) {
+            String resource = "network/" + id + "/" + file;
+            Network network = assertDoesNotThrow(() -> Network.parse(reader(resource)));
+            assertEquals(network(singleLine(resource)), network);
+            assertEquals(network(singleLine(resource)).list(), network.list());
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"a_sorted", "a_random", "b_sorted", "b_random"})
+    void testParseChannel(String file) {
+        for (int id = 0; id < 5; id++) {
+            String resource = "network/" + id + "/" + file;
+            ReadableByteChannel channel = Channels.newChannel(
+                NetworkParseTest.class.getClassLoader().getResourceAsStream(resource));
+            Network network = assertDoesNotThrow(() -> Network.parse(channel));
+            assertEquals(network(singleLine(resource)), network);
+            assertEquals(network(singleLine(resource)).list(), network.list());
+        }
+    }
+
+    @Test
+    void testParseChannelByteByByte() {
+        byte[] bytes = MEDIUM_NET.getBytes(StandardCharsets.US_ASCII);
+        ReadableByteChannel channel = new ReadableByteChannel() {
+            private int position;
+
+            @Override
+            public int read(ByteBuffer dst) {
+                if (position == bytes.length) {
+                    return -1;
+                }
+                dst.put(bytes[position++]);
+                return 1;
+            }
+
+            @Override
+            public boolean isOpen() {
+                return true;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        Network network = assertDoesNotThrow(() -> Network.parse(channel));
+        assertEquals(network(MEDIUM_NET).toString(ip("90.240.18.65")), network.toString(ip("90.240.18.65")));
+    }
+
+    @ParameterizedTest
+    @LinesSource("network/invalid")
+    void testParseInvalid(String bracketNotation) {
+        assertThrows(ParseException.class, () -> Network.parse(new StringReader(bracketNotation)));
+        assertThrows(ParseException.class, () -> Network.parse(Channels.newChannel(
+            new ByteArrayInputStream(bracketNotation.getBytes(StandardCharsets.UTF_8)))));
+    }
+
+    @ParameterizedTest
+    @LinesSource("network/valid")
+    void testParseValid(String bracketNotation) {
+        Network network = assertDoesNotThrow(() -> Network.parse(new StringReader(bracketNotation + "\r\n")));
+        assertEquals(network(bracketNotation).list(), network.list());
+    }
+
+    @Test
+    void testParseEmpty() {
+        assertThrows(ParseException.class, () -> Network.parse(new StringReader("")));
+        assertThrows(ParseException.class, () -> Network.parse(new StringReader("\n")));
+        assertThrows(ParseException.class, () -> Network.parse(new StringReader("(1.1.1.1 2.2.2.2)\n ")));
+    }
+}
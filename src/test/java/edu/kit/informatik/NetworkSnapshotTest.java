@@ -0,0 +1,116 @@
+package edu.kit.informatik;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static edu.kit.informatik.util.KoeriTestUtils.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NetworkSnapshotTest {
+    @Test
+    void testSnapshotKeepsItsState() {
+        Network network = network(MEDIUM_NET);
+        NetworkSnapshot snapshot = network.snapshot();
+
+        assertTrue(network.disconnect(ip("90.240.18.65"), ip("124.214.225.52")));
+        assertTrue(network.disconnect(ip("71.130.3.224"), ip("166.101.129.76")));
+        // reuses the ids of the removed nodes
+        assertTrue(network.add(network("(1.1.1.1 2.2.2.2 (3.3.3.3 4.4.4.4))")));
+        assertTrue(network.connect(ip("1.1.1.1"), ip("90.240.18.65")));
+        NetworkSnapshot second = network.snapshot();
+        assertTrue(network.disconnect(ip("1.1.1.1"), ip("90.240.18.65")));
+
+        assertSameState(network(MEDIUM_NET), snapshot);
+        assertTrue(second.contains(ip("4.4.4.4")));
+        assertEquals(ips("4.4.4.4", "3.3.3.3", "1.1.1.1", "90.240.18.65"), second.getRoute(ip("4.4.4.4"), ip("90.240.18.65")));
+        assertEquals(List.of(), network.getRoute(ip("4.4.4.4"), ip("90.240.18.65")));
+        assertFalse(network.contains(ip("124.214.225.52")));
+    }
+
+    @Test
+    void testRandomChangesAgainstCopies() {
+        // every snapshot has to keep showing the trees of all nodes at the time it was taken
+        Random random = new Random(13);
+        Network network = network(MEDIUM_NET);
+        List<IP> nodes = new ArrayList<>(network.list());
+        List<NetworkSnapshot> snapshots = new ArrayList<>();
+        List<List<String>> states = new ArrayList<>();
+        for (int step = 0; step < 300; step++) {
+            if (step % 10 == 0) {
+                snapshots.add(network.snapshot());
+                states.add(notations(network.list(), network::toString));
+            }
+            IP start = nodes.get(random.nextInt(nodes.size()));
+            IP end = nodes.get(random.nextInt(nodes.size()));
+            if (!network.disconnect(start, end)) {
+                network.connect(start, end);
+            }
+            if (random.nextInt(20) == 0) {
+                IP fresh = IP.ofInt(random.nextInt());
+                network.add(new Network(network.list().get(0), List.of(fresh)));
+                nodes.add(fresh);
+            }
+        }
+        for (int i = 0; i < snapshots.size(); i++) {
+            NetworkSnapshot snapshot = snapshots.get(i);
+            assertEquals(states.get(i), notations(snapshot.list(), snapshot::toString));
+        }
+    }
+
+    private static List<String> notations(List<IP> nodes, Function<IP, String> toString) {
+        return nodes.stream().map(toString).collect(Collectors.toList());
+    }
+
+    @Test
+    void testSnapshotsOfLargeNetwork() throws Exception {
+        int size = 1_000_000;
+        NetworkBuilder builder = Network.builder(size);
+        for (int i = 1; i < size; i++) {
+            builder.edge(0x0A000000 + (i - 1) / 4, 0x0A000000 + i);
+        }
+        ConcurrentNetwork network = new ConcurrentNetwork(builder.build());
+        NetworkSnapshot first = network.snapshot();
+        String notation = first.toString(ip("10.0.0.0"));
+
+        // a writer keeps changing the network and taking snapshots while the first one is read
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> writer = executor.submit(() -> {
+                for (int i = 1; i < 2_000; i++) {
+                    IP leaf = IP.ofInt(0x0A000000 + size - i);
+                    assertTrue(network.disconnect(IP.ofInt(0x0A000000 + (size - i - 1) / 4), leaf));
+                    assertTrue(network.snapshot().contains(IP.ofInt(0x0A000000 + size - i - 1)));
+                }
+            });
+            for (int i = 0; i < 3; i++) {
+                assertEquals(notation, first.toString(ip("10.0.0.0")));
+            }
+            writer.get(60, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(size, first.list().size());
+        assertEquals(size - 1_999, network.list().size());
+        assertEquals(size, first.getHeightsForAllRoots().size());
+    }
+
+    private static void assertSameState(Network expected, NetworkSnapshot snapshot) {
+        assertEquals(expected.list(), snapshot.list());
+        for (IP root : expected.list()) {
+            assertEquals(expected.toString(root), snapshot.toString(root));
+            assertEquals(expected.getHeight(root), snapshot.getHeight(root));
+            assertEquals(expected.getLevels(root), snapshot.getLevels(root));
+        }
+        assertEquals(expected.getRoute(ip("166.114.94.115"), ip("13.163.16.235")),
+            snapshot.getRoute(ip("166.114.94.115"), ip("13.163.16.235")));
+    }
+}
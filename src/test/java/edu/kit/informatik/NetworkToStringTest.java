@@ -0,0 +1,74 @@
+package edu.kit.informatik;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static edu.kit.informatik.util.KoeriTestUtils.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NetworkToStringTest {
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 2, 3, 4})
+    void testSortedNotationRoundTrip(int id) throws IOException {
+        String notation = singleLine("network/" + id + "/a_sorted");
+        Network network = network(notation);
+        IP root = ip(notation.substring(1, notation.indexOf(" ")));
+
+        assertEquals(notation, network.toString(root));
+
+        StringWriter writer = new StringWriter();
+        network.toString(root, writer);
+        assertEquals(notation, writer.toString());
+
+        ByteBuffer buffer = ByteBuffer.allocate(notation.length());
+        network.toString(root, buffer);
+        assertEquals(notation, new String(buffer.array(), StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    void testEveryRootMatchesToString() throws IOException {
+        Network network = network(MEDIUM_NET);
+        for (IP root : network.list()) {
+            StringBuilder builder = new StringBuilder();
+            network.toString(root, builder);
+            assertEquals(network.toString(root), builder.toString());
+            assertEquals(network, network(builder.toString()));
+        }
+    }
+
+    @Test
+    void testDeepChain() throws IOException {
+        // nesting far beyond what a recursive writer survives
+        StringBuilder notation = new StringBuilder();
+        int depth = 200_000;
+        for (int i = 0; i < depth; i++) {
+            notation.append('(').append(IP.ofInt(0x0A000000 + i)).append(' ');
+        }
+        notation.append(IP.ofInt(0x0A000000 + depth));
+        notation.append(")".repeat(depth));
+
+        Network network = network(notation.toString());
+        StringWriter writer = new StringWriter();
+        network.toString(ip("10.0.0.0"), writer);
+        assertEquals(notation.toString(), writer.toString());
+    }
+
+    @Test
+    void testMissingRootAndSmallBuffer() throws IOException {
+        Network network = network(SMALL_NET);
+        StringBuilder builder = new StringBuilder();
+        network.toString(null, builder);
+        network.toString(ip("0.0.0.0"), builder);
+        assertEquals("", builder.toString());
+
+        assertThrows(BufferOverflowException.class,
+            () -> network.toString(ip("85.193.148.81"), ByteBuffer.allocate(8)));
+    }
+}
@@ -0,0 +1,82 @@
+package edu.kit.informatik;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NodeDictionaryTest {
+    @Test
+    void testAddAndRemoveAgainstHashMap() {
+        Random random = new Random(42);
+        NodeDictionary dictionary = new NodeDictionary();
+        Map<Integer, Integer> expected = new HashMap<>();
+        Set<Integer> liveIds = new HashSet<>();
+
+        for (int step = 0; step < 200_000; step++) {
+            // a small key range forces collisions, removals and id reuse
+            int address = random.nextInt(5_000) * 0x01000193;
+            if (random.nextInt(3) == 0) {
+                int id = dictionary.remove(address);
+                Integer known = expected.remove(address);
+                assertEquals(known == null ? -1 : known, id);
+                if (known != null) {
+                    liveIds.remove(known);
+                }
+            } else {
+                int id = dictionary.add(address);
+                if (expected.containsKey(address)) {
+                    assertEquals(-1, id);
+                } else {
+                    assertTrue(liveIds.add(id), "id handed out twice");
+                    assertTrue(id < dictionary.limit());
+                    expected.put(address, id);
+                }
+            }
+            assertEquals(expected.size(), dictionary.size());
+        }
+
+        expected.forEach((address, id) -> {
+            assertEquals(id, dictionary.idOf(address));
+            assertEquals(address, dictionary.addressOf(id));
+        });
+        assertEquals(-1, dictionary.idOf(1));
+    }
+
+    @Test
+    void testOfAddresses() {
+        // enough addresses to fill the table by regions, consecutive ones cluster in few of them
+        int[] addresses = new int[300_000];
+        Random random = new Random(7);
+        for (int i = 0; i < addresses.length; i++) {
+            addresses[i] = i < addresses.length / 2 ? 0x0A000000 + i : random.nextInt() | 1;
+        }
+        addresses[addresses.length - 1] = 0;
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            int[] distinct = IntStream.of(addresses).distinct().toArray();
+            NodeDictionary dictionary = NodeDictionary.ofAddresses(distinct, distinct.length, pool);
+            assertNotNull(dictionary);
+            assertEquals(distinct.length, dictionary.size());
+            for (int id = 0; id < distinct.length; id++) {
+                assertEquals(id, dictionary.idOf(distinct[id]));
+                assertEquals(distinct[id], dictionary.addressOf(id));
+            }
+            assertEquals(-1, dictionary.idOf(2));
+            assertEquals(distinct.length, dictionary.add(2));
+
+            int[] repeated = distinct.clone();
+            repeated[repeated.length - 1] = repeated[1234];
+            assertNull(NodeDictionary.ofAddresses(repeated, repeated.length, pool));
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package edu.kit.informatik;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.List;
+
+import static edu.kit.informatik.util.KoeriTestUtils.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class RootedViewCacheTest {
+    @Test
+    void testReuseAndEviction() {
+        Graph graph = new Graph();
+        int first = graph.addNode(1);
+        int second = graph.addNode(2);
+        int third = graph.addNode(3);
+        graph.addEdge(first, second);
+        graph.addEdge(second, third);
+
+        RootedViewCache cache = new RootedViewCache(2);
+        RootedView view = cache.get(graph, first, 0);
+        assertSame(view, cache.get(graph, first, 0));
+        cache.get(graph, second, 0);
+        // first was used last, so second is evicted by third
+        cache.get(graph, first, 0);
+        cache.get(graph, third, 0);
+        assertEquals(2, cache.size());
+        assertSame(view, cache.get(graph, first, 0));
+
+        assertNotSame(view, cache.get(graph, first, 1));
+        assertEquals(1, cache.size());
+
+        cache.setCapacity(0);
+        assertEquals(0, cache.size());
+        assertNotSame(cache.get(graph, first, 1), cache.get(graph, first, 1));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 4})
+    void testQueriesFollowMutations(int cacheSize) {
+        Network network = network("(1.1.1.1 2.2.2.2 (3.3.3.3 4.4.4.4))");
+        network.setViewCacheSize(cacheSize);
+        IP root = ip("1.1.1.1");
+        assertEquals(2, network.getHeight(root));
+        assertEquals(ips("1.1.1.1", "3.3.3.3", "4.4.4.4"), network.getRoute(root, ip("4.4.4.4")));
+
+        assertTrue(network.disconnect(ip("3.3.3.3"), ip("4.4.4.4")));
+        assertEquals(1, network.getHeight(root));
+        assertEquals(List.of(), network.getRoute(root, ip("4.4.4.4")));
+
+        assertTrue(network.add(network("(3.3.3.3 5.5.5.5)")));
+        assertEquals(2, network.getHeight(root));
+        assertEquals("(1.1.1.1 2.2.2.2 (3.3.3.3 5.5.5.5))", network.toString(root));
+
+        assertTrue(network.add(network("(6.6.6.6 7.7.7.7)")));
+        assertTrue(network.connect(ip("5.5.5.5"), ip("6.6.6.6")));
+        assertEquals(4, network.getHeight(root));
+        assertEquals(5, network.getLevels(root).size());
+    }
+
+    @Test
+    void testNegativeCacheSize() {
+        assertThrows(IllegalArgumentException.class, () -> network(SMALL_NET).setViewCacheSize(-1));
+    }
+}